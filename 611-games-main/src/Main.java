@@ -2,11 +2,48 @@
  * Main entry point for the CS611 Games project.
  * This class simply launches the main menu; it does not manage any game logic itself.
  *
+ * Run "java Main engine" to start the headless Quoridor engine protocol instead
+ * (see a3.QuoridorEngine), e.g. for tournament harnesses and external GUIs.
+ * Run "java Main dots-sim ..." for headless Dots and Boxes self-play
+ * (see a2.DotsAndBoxesSimulator).
+ * Run "java Main build-pdb <rows> <cols>" to build the sliding puzzle pattern
+ * databases used by the solver (see a1.SlidingPuzzlePatternDatabase).
+ * Run "java Main solve-large [rows] [cols] [seed]" to solve a random puzzle of up
+ * to 100x100 with the reduction solver (see a1.SlidingPuzzleReductionSolver).
+ * Run "java Main puzzle-bench [rows] [cols] [count] [seed]" to compare IDA* with
+ * the parallel bidirectional search (see a1.SlidingPuzzleBidirectionalSolver).
+ * Run "java Main puzzles [count] [rows] [cols] [solver] [format] [file] ..." to
+ * generate and solve puzzle sets in bulk (see a1.SlidingPuzzleBatch).
+ *
  * Authors: Zhuojun Lyu and Priyanshu Singh
  * Date: 2025-10-25
  */
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equalsIgnoreCase("engine")) {
+            new a3.QuoridorEngine(System.in, System.out).run();
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("dots-sim")) {
+            a2.DotsAndBoxesSimulator.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("build-pdb")) {
+            a1.SlidingPuzzlePatternDatabase.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("solve-large")) {
+            a1.SlidingPuzzleReductionSolver.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("puzzle-bench")) {
+            a1.SlidingPuzzleBidirectionalSolver.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("puzzles")) {
+            a1.SlidingPuzzleBatch.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         new engine.Menu().start();  // Start the top-level menu
     }
 }
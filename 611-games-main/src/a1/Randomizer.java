@@ -4,21 +4,37 @@ import java.util.Random;
 
 /**
  * Shuffle generator for the sliding puzzle.
- * Uses a "blank walk" method: randomly moves the blank tile many times
- * to ensure the generated puzzle is always solvable.
  *
- * Updated to work with SlidingPuzzleBoard instead of Board.
+ * shuffleUniform() draws a uniformly random solvable position in O(n): a
+ * Fisher-Yates shuffle of all cells, and if the result is unsolvable, two
+ * fixed tiles (the first two cells not holding the blank) are swapped. That
+ * swap flips the permutation parity without moving the blank and pairs every
+ * unsolvable permutation with exactly one solvable one, so the result stays
+ * uniform over the solvable positions.
+ *
+ * shuffle() is the older "blank walk": it randomly moves the blank many
+ * times, which gives easier positions for small step counts.
+ *
+ * Pass a seed to reproduce the same sequence of puzzles (e.g. for batches).
  *
  * Author: Zhuojun Lyu and Priyanshu Singh
  * Date: 2025-10-25
  */
 public class Randomizer {
-    private final Random rng = new Random();
+    private final Random rng;
 
     // Possible movement directions (down, up, right, left)
     private static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
     private static final int MAX_RETRIES = 10;
 
+    public Randomizer() {
+        this.rng = new Random();
+    }
+
+    public Randomizer(long seed) {
+        this.rng = new Random(seed);
+    }
+
     /**
      * Shuffle the board by performing random blank moves.
      * This guarantees a solvable configuration.
@@ -52,4 +68,73 @@ public class Randomizer {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Put the board in a uniformly random solvable position (never the solved one).
+     */
+    public void shuffleUniform(SlidingPuzzleBoard board) {
+        short[] cells;
+        do {
+            cells = randomCells(board.getRows(), board.getCols());
+        } while (isSolved(cells));
+        board.setCells(cells);
+    }
+
+    /**
+     * @return a uniformly random solvable position, cells row by row (0 = blank)
+     */
+    public short[] randomCells(int rows, int cols) {
+        int size = rows * cols;
+        short[] cells = new short[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = (short) i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            short t = cells[i];
+            cells[i] = cells[j];
+            cells[j] = t;
+        }
+
+        if (!isSolvable(cells, rows, cols)) {
+            // Swapping two tiles flips the permutation parity and leaves the blank where it is
+            int a = cells[0] == 0 ? 1 : 0;
+            int b = cells[a + 1] == 0 ? a + 2 : a + 1;
+            short t = cells[a];
+            cells[a] = cells[b];
+            cells[b] = t;
+        }
+        return cells;
+    }
+
+    /**
+     * O(n) solvability test: every move is one transposition and moves the
+     * blank one step, so a position is solvable exactly when its permutation
+     * parity equals the parity of the blank's distance from its goal cell.
+     */
+    public static boolean isSolvable(short[] cells, int rows, int cols) {
+        int size = cells.length;
+        boolean[] seen = new boolean[size];
+        int cycles = 0;
+        int blank = 0;
+        for (int start = 0; start < size; start++) {
+            if (cells[start] == 0) blank = start;
+            if (seen[start]) continue;
+            cycles++;
+            // Follow cell -> goal cell of the tile on it
+            for (int cell = start; !seen[cell]; cell = (cells[cell] + size - 1) % size) {
+                seen[cell] = true;
+            }
+        }
+        int permutationParity = (size - cycles) & 1;
+        int blankDistance = (rows - 1 - blank / cols) + (cols - 1 - blank % cols);
+        return permutationParity == (blankDistance & 1);
+    }
+
+    private static boolean isSolved(short[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != (i + 1) % cells.length) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,418 @@
+package a1;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk generation and solving of sliding puzzles, e.g. a million random 4x4
+ * puzzles with their optimal lengths, streamed to a CSV or binary file.
+ *
+ * Three stages run at once and hand work on through bounded queues, so memory
+ * stays flat however many puzzles are made: one thread draws uniform random
+ * puzzles with Randomizer (seeded, so a run can be repeated), a pool of
+ * workers solves them (one solver instance per worker), and the calling
+ * thread writes the results and reports the throughput every second.
+ * Results are written as they finish, not in puzzle order; every record
+ * carries its puzzle number.
+ *
+ * CSV: a header line, then "index,length,cells" with the cells row by row,
+ * separated by spaces (0 = blank).
+ * Binary: 'S' 'P' 'B' 'T' version, rows and cols (shorts), bytes per cell (1,
+ * or 2 above 256 cells), then per puzzle its index (int), cells and length
+ * (int), all big-endian.
+ * A length of -1 means the solver gave up within its time limit.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleBatch {
+    public static final int QUEUE_CAPACITY = 1024;
+    public static final long DEFAULT_TIME_MS = 10_000;
+    private static final int VERSION = 1;
+    private static final int MAX_BYTE_CELLS = SlidingPuzzleSolver.MAX_CELLS;  // the optimal solvers store tiles in bytes
+    private static final long REPORT_NANOS = 1_000_000_000L;
+
+    /**
+     * Available solvers.
+     */
+    public enum Solver {
+        IDA,            // SlidingPuzzleSolver, optimal (with the pattern database if built)
+        BIDIRECTIONAL,  // SlidingPuzzleBidirectionalSolver, optimal, up to 16 cells
+        TABLE,          // SlidingPuzzleDistanceTable, optimal, up to 9 cells
+        REDUCTION;      // SlidingPuzzleReductionSolver, not optimal, any size
+
+        public static Solver parse(String name) {
+            for (Solver s : values()) {
+                if (s.name().equalsIgnoreCase(name)) return s;
+            }
+            throw new IllegalArgumentException("Unknown solver: " + name + " (ida, bidirectional, table, reduction)");
+        }
+    }
+
+    public enum Format {
+        CSV, BINARY;
+
+        public static Format parse(String name) {
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(name)) return f;
+            }
+            throw new IllegalArgumentException("Unknown format: " + name + " (csv, binary)");
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Solver solver;
+    private final int threads;
+    private long timeMs = DEFAULT_TIME_MS;
+    private long seed = 611;
+    private PrintStream progress = System.out;
+
+    public SlidingPuzzleBatch(int rows, int cols, Solver solver, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        if ((solver == Solver.IDA || solver == Solver.BIDIRECTIONAL) && rows * cols > MAX_BYTE_CELLS) {
+            throw new IllegalArgumentException("Optimal solvers support at most " + MAX_BYTE_CELLS + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.solver = solver;
+        this.threads = threads;
+        newSolver();  // fails early if the solver does not support this size
+    }
+
+    public void setTimeMs(long timeMs) {
+        this.timeMs = Math.max(1, timeMs);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Where progress lines go (null for none).
+     */
+    public void setProgress(PrintStream progress) {
+        this.progress = progress;
+    }
+
+    // ---------- Pipeline ----------
+
+    // A puzzle on its way through the stages; index < 0 marks the end of the stream.
+    private static final class Job {
+        static final Job END = new Job(-1, null);
+
+        final long index;
+        final short[] cells;
+        int length;
+
+        Job(long index, short[] cells) {
+            this.index = index;
+            this.cells = cells;
+        }
+    }
+
+    /**
+     * Generate, solve and write the given number of puzzles, and wait for all of them.
+     */
+    public Summary run(long count, OutputStream out, Format format) throws IOException, InterruptedException {
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Count must be between 0 and " + Integer.MAX_VALUE);
+        }
+        BlockingQueue<Job> puzzles = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<Job> solved = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Summary summary = new Summary(rows, cols, solver);
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // Stage 1: generate
+            pool.execute(() -> {
+                try {
+                    Randomizer randomizer = new Randomizer(seed);
+                    for (long i = 0; i < count && failure.get() == null; i++) {
+                        puzzles.put(new Job(i, randomizer.randomCells(rows, cols)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    endStream(puzzles, threads);
+                }
+            });
+            // Stage 2: solve
+            for (int t = 0; t < threads; t++) {
+                pool.execute(() -> {
+                    try {
+                        PuzzleSolver puzzleSolver = newSolver();
+                        for (Job job = puzzles.take(); job != Job.END; job = puzzles.take()) {
+                            if (failure.get() != null) continue;  // keep draining so the generator never blocks
+                            try {
+                                job.length = puzzleSolver.length(job.cells);
+                            } catch (RuntimeException e) {
+                                failure.compareAndSet(null, e);
+                                continue;
+                            }
+                            solved.put(job);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        endStream(solved, 1);
+                    }
+                });
+            }
+
+            // Stage 3: write, on this thread
+            Sink sink = format == Format.CSV ? new CsvSink(out) : new BinarySink(out);
+            long nextReport = start + REPORT_NANOS;
+            for (int running = threads; running > 0; ) {
+                Job job = solved.take();
+                if (job == Job.END) {
+                    running--;
+                    continue;
+                }
+                sink.write(job);
+                summary.record(job.length);
+                long now = System.nanoTime();
+                if (progress != null && now >= nextReport) {
+                    progress.println(summary.progress(now - start, puzzles.size(), solved.size()));
+                    nextReport = now + REPORT_NANOS;
+                }
+            }
+            sink.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("Puzzle batch failed", failure.get());
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    // Tell the next stage (all of its consumers) that nothing more is coming.
+    private static void endStream(BlockingQueue<Job> queue, int consumers) {
+        try {
+            for (int i = 0; i < consumers; i++) queue.put(Job.END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------- Solvers ----------
+
+    private interface PuzzleSolver {
+        // @return the solution length, or -1 if the solver gave up
+        int length(short[] cells);
+    }
+
+    private PuzzleSolver newSolver() {
+        switch (solver) {
+            case IDA: {
+                SlidingPuzzleSolver ida = new SlidingPuzzleSolver(rows, cols);
+                ida.setPatternDatabase(SlidingPuzzlePatternDatabase.loadIfPresent(rows, cols));
+                return cells -> {
+                    int[] solution = ida.solve(toBytes(cells), timeMs);
+                    return solution == null ? -1 : solution.length;
+                };
+            }
+            case BIDIRECTIONAL: {
+                SlidingPuzzleBidirectionalSolver bfs = new SlidingPuzzleBidirectionalSolver(rows, cols);
+                return cells -> {
+                    int[] solution = bfs.solve(toBytes(cells), timeMs);
+                    return solution == null ? -1 : solution.length;
+                };
+            }
+            case TABLE: {
+                SlidingPuzzleDistanceTable table = SlidingPuzzleDistanceTable.forSize(rows, cols);
+                return table::distance;
+            }
+            default: {
+                SlidingPuzzleReductionSolver reduction = new SlidingPuzzleReductionSolver(rows, cols);
+                return cells -> {
+                    int moves = 0;
+                    for (PrimitiveIterator.OfInt it = reduction.solve(cells); it.hasNext(); it.nextInt()) moves++;
+                    return moves;
+                };
+            }
+        }
+    }
+
+    private static byte[] toBytes(short[] cells) {
+        byte[] bytes = new byte[cells.length];
+        for (int i = 0; i < cells.length; i++) bytes[i] = (byte) cells[i];
+        return bytes;
+    }
+
+    // ---------- Output ----------
+
+    private interface Sink {
+        void write(Job job) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvSink implements Sink {
+        private final PrintStream out;
+
+        CsvSink(OutputStream out) {
+            this.out = new PrintStream(new BufferedOutputStream(out, 1 << 16), false);
+            this.out.println("index,length,cells");
+        }
+
+        @Override
+        public void write(Job job) {
+            StringBuilder sb = new StringBuilder(job.cells.length * 3 + 16);
+            sb.append(job.index).append(',').append(job.length).append(',');
+            for (int i = 0; i < job.cells.length; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(job.cells[i]);
+            }
+            out.println(sb);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            if (out.checkError()) throw new IOException("Could not write the puzzle file");
+        }
+    }
+
+    private final class BinarySink implements Sink {
+        private final DataOutputStream out;
+        private final boolean wide;
+
+        BinarySink(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            this.wide = rows * cols > 256;
+            this.out.write(new byte[] {'S', 'P', 'B', 'T', VERSION});
+            this.out.writeShort(rows);
+            this.out.writeShort(cols);
+            this.out.writeByte(wide ? 2 : 1);
+        }
+
+        @Override
+        public void write(Job job) throws IOException {
+            out.writeInt((int) job.index);
+            for (short cell : job.cells) {
+                if (wide) out.writeShort(cell);
+                else out.writeByte(cell);
+            }
+            out.writeInt(job.length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    // ---------- Results ----------
+
+    /**
+     * Totals of a run. Only the writing thread updates them.
+     */
+    public static class Summary {
+        private final int rows;
+        private final int cols;
+        private final Solver solver;
+        private long puzzles;
+        private long unsolved;
+        private long totalLength;
+        private int maxLength;
+        private long elapsedNanos;
+
+        Summary(int rows, int cols, Solver solver) {
+            this.rows = rows;
+            this.cols = cols;
+            this.solver = solver;
+        }
+
+        void record(int length) {
+            puzzles++;
+            if (length < 0) {
+                unsolved++;
+            } else {
+                totalLength += length;
+                maxLength = Math.max(maxLength, length);
+            }
+        }
+
+        public long getPuzzles() {
+            return puzzles;
+        }
+
+        public long getUnsolved() {
+            return unsolved;
+        }
+
+        public double getMeanLength() {
+            long solved = puzzles - unsolved;
+            return solved == 0 ? 0 : (double) totalLength / solved;
+        }
+
+        public double getPuzzlesPerSecond() {
+            return elapsedNanos == 0 ? 0 : puzzles * 1e9 / elapsedNanos;
+        }
+
+        String progress(long nanos, int waiting, int written) {
+            return String.format(Locale.ROOT, "  %,d puzzles, %,.0f/s (queued: %d to solve, %d to write)",
+                    puzzles, puzzles * 1e9 / Math.max(1, nanos), waiting, written);
+        }
+
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "%,d %dx%d puzzles solved with %s in %.1f s (%,.0f/s)%n",
+                    puzzles, rows, cols, solver.name().toLowerCase(Locale.ROOT),
+                    elapsedNanos / 1e9, getPuzzlesPerSecond()));
+            sb.append(String.format(Locale.ROOT, "Mean length %.2f, longest %d", getMeanLength(), maxLength));
+            if (unsolved > 0) {
+                sb.append(String.format(Locale.ROOT, ", %,d not solved in time", unsolved));
+            }
+            sb.append('\n');
+            return sb.toString();
+        }
+    }
+
+    // ---------- Command line ----------
+
+    /**
+     * Entry point for "java Main puzzles [count] [rows] [cols] [solver] [format] [file] [threads] [seed]".
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : rows;
+        Solver solver = args.length > 3 ? Solver.parse(args[3])
+                : SlidingPuzzleDistanceTable.supports(rows, cols) ? Solver.TABLE : Solver.IDA;
+        Format format = args.length > 4 ? Format.parse(args[4]) : Format.CSV;
+        Path file = Paths.get(args.length > 5 ? args[5]
+                : "puzzles-" + rows + "x" + cols + (format == Format.CSV ? ".csv" : ".bin"));
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        SlidingPuzzleBatch batch = new SlidingPuzzleBatch(rows, cols, solver, threads);
+        if (args.length > 7) batch.setSeed(Long.parseLong(args[7]));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            System.out.print(batch.run(count, out, format).format());
+        }
+        System.out.println("Written to " + file + " (" + Files.size(file) + " bytes)");
+    }
+}
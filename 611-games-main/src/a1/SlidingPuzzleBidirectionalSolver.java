@@ -0,0 +1,343 @@
+package a1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Optimal solver for medium sliding puzzles (3x4, 4x3) by bidirectional
+ * breadth-first search, a second mode next to SlidingPuzzleSolver's IDA*.
+ *
+ * A position is packed into a long, four bits per cell, so boards of up to 16
+ * cells fit. Each side (from the start and from the goal) keeps its visited
+ * positions in an open-addressing hash set of longs, with one byte per entry
+ * holding the depth and the blank move that reached it; paths are rebuilt by
+ * walking those moves back. Both sides grow a whole level at a time, always
+ * the side with the smaller frontier, and a level is expanded in parallel:
+ * the frontier is cut into chunks, and new positions are claimed in the set
+ * with compare-and-set. The set is grown between levels only, so inserts never
+ * race a resize.
+ *
+ * The first level that reaches a position seen by the other side gives a
+ * shortest solution. The search gives up (returns null) when it runs out of
+ * time or reaches MAX_STATES positions.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleBidirectionalSolver {
+    public static final int MAX_CELLS = 16;         // four bits per cell in a long
+    public static final long MAX_STATES = 1L << 25; // both sides together, about 600 MB of sets
+    private static final int CHUNK = 1 << 12;       // frontier positions per parallel task
+    private static final int ROOT = 0;              // entry of a root: depth 0 (its move bits are unused)
+    private static final int MAX_DEPTH = 63;        // depth is stored in 6 bits
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final int[][] neighbours;  // cells next to each cell
+    private final int[][] directions;  // matching move codes: 0 up, 1 down, 2 left, 3 right
+    private long states;
+
+    public SlidingPuzzleBidirectionalSolver(int rows, int cols) {
+        if (rows < 2 || cols < 2 || rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Bidirectional search supports boards of 2x2 up to " + MAX_CELLS + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        this.neighbours = SlidingPuzzlePatternDatabase.neighbours(rows, cols);
+        this.directions = new int[size][];
+        for (int cell = 0; cell < size; cell++) {
+            int[] list = neighbours[cell];
+            directions[cell] = new int[list.length];
+            for (int i = 0; i < list.length; i++) {
+                int to = list[i];
+                directions[cell][i] = to == cell - cols ? 0 : to == cell + cols ? 1 : to == cell - 1 ? 2 : 3;
+            }
+        }
+    }
+
+    public int[] solve(SlidingPuzzleBoard board, long timeMs) {
+        return solve(SlidingPuzzleSolver.snapshot(board), timeMs);
+    }
+
+    /**
+     * Find a shortest solution. The array is not modified.
+     * @return tile numbers to slide, in order, or null if time or memory ran out
+     */
+    public int[] solve(byte[] cells, long timeMs) {
+        if (cells.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " cells, got " + cells.length);
+        }
+        if (!SlidingPuzzleSolver.isSolvable(cells, rows, cols)) {
+            throw new IllegalArgumentException("Position is not solvable");
+        }
+        long deadline = System.nanoTime() + Math.max(1, timeMs) * 1_000_000L;
+        long start = pack(cells);
+        long goal = 0;
+        for (int cell = 0; cell < size; cell++) {
+            goal |= (long) ((cell + 1) % size) << (4 * cell);
+        }
+        states = 2;
+        if (start == goal) return new int[0];
+
+        Side forward = new Side(start);
+        Side backward = new Side(goal);
+        while (true) {
+            if (forward.frontier.length == 0 || backward.frontier.length == 0) return null;
+            if (System.nanoTime() > deadline) return null;
+            Side grow = forward.frontier.length <= backward.frontier.length ? forward : backward;
+            Side other = grow == forward ? backward : forward;
+            // Each frontier position adds at most four new ones
+            if (grow.depth == MAX_DEPTH || states + 4L * grow.frontier.length > MAX_STATES) return null;
+            long meet = expand(grow, other);
+            if (meet != 0) {
+                return path(start, forward.path(meet), backward.path(meet));
+            }
+        }
+    }
+
+    /**
+     * @return positions stored by the last solve, both sides together
+     */
+    public long getStatesVisited() {
+        return states;
+    }
+
+    // ---------- Search ----------
+
+    // One direction of the search: its visited set and current frontier.
+    private final class Side {
+        private LongSet visited = new LongSet(1 << 10);
+        private long[] frontier;
+        private int depth;
+
+        Side(long root) {
+            visited.add(root, (byte) ROOT);
+            frontier = new long[] {root};
+        }
+
+        // Blank moves from this side's root to a position it has visited.
+        int[] path(long state) {
+            int depth = visited.get(state) >>> 2;
+            int[] moves = new int[depth];
+            for (int i = depth - 1; i >= 0; i--) {
+                int move = visited.get(state) & 3;
+                moves[i] = move;
+                state = step(state, move ^ 1);  // 0/1 and 2/3 undo each other
+            }
+            return moves;
+        }
+    }
+
+    // Expand a whole level of one side; returns a position the other side has seen, or 0.
+    private long expand(Side grow, Side other) {
+        long[] frontier = grow.frontier;
+        grow.visited = grow.visited.ensure(grow.visited.size() + 4L * frontier.length);
+        int depth = grow.depth + 1;
+        LongSet visited = grow.visited;
+        LongSet seen = other.visited;
+        AtomicLong meet = new AtomicLong();
+        int tasks = (frontier.length + CHUNK - 1) / CHUNK;
+
+        List<long[]> parts = IntStream.range(0, tasks).parallel().mapToObj(task -> {
+            int from = task * CHUNK, to = Math.min(frontier.length, from + CHUNK);
+            long[] found = new long[(to - from) * 4];
+            int n = 0;
+            for (int i = from; i < to && meet.get() == 0; i++) {
+                long state = frontier[i];
+                int blank = blankOf(state);
+                int came = visited.get(state) & 3;
+                for (int k = 0; k < neighbours[blank].length; k++) {
+                    int move = directions[blank][k];
+                    if (move == (came ^ 1) && depth > 1) continue;  // never undo the last move
+                    long next = step(state, move);
+                    if (!visited.add(next, (byte) (depth << 2 | move))) continue;
+                    found[n++] = next;
+                    if (seen.get(next) >= 0) meet.compareAndSet(0, next);
+                }
+            }
+            long[] part = new long[n];
+            System.arraycopy(found, 0, part, 0, n);
+            return part;
+        }).collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+
+        int total = 0;
+        for (long[] part : parts) total += part.length;
+        long[] next = new long[total];
+        int at = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, next, at, part.length);
+            at += part.length;
+        }
+        grow.frontier = next;
+        grow.depth = depth;
+        states += total;
+        return meet.get();
+    }
+
+    // ---------- Positions ----------
+
+    private long pack(byte[] cells) {
+        long state = 0;
+        for (int cell = 0; cell < size; cell++) {
+            state |= (long) cells[cell] << (4 * cell);
+        }
+        return state;
+    }
+
+    private int blankOf(long state) {
+        for (int cell = 0; ; cell++) {
+            if ((state >>> (4 * cell) & 15) == 0) return cell;
+        }
+    }
+
+    // Move the blank one step (the tile there slides into the blank's cell).
+    private long step(long state, int move) {
+        int blank = blankOf(state);
+        int to = move == 0 ? blank - cols : move == 1 ? blank + cols : move == 2 ? blank - 1 : blank + 1;
+        long tile = state >>> (4 * to) & 15;
+        return state + (tile << (4 * blank)) - (tile << (4 * to));
+    }
+
+    // Join both halves into the tiles to slide from the start.
+    private int[] path(long start, int[] toMeet, int[] toGoalReversed) {
+        int[] tiles = new int[toMeet.length + toGoalReversed.length];
+        long state = start;
+        int n = 0;
+        for (int move : toMeet) {
+            tiles[n++] = tileMoved(state, move);
+            state = step(state, move);
+        }
+        // The goal side recorded moves from the goal: replay them backwards, each undone
+        for (int i = toGoalReversed.length - 1; i >= 0; i--) {
+            int move = toGoalReversed[i] ^ 1;
+            tiles[n++] = tileMoved(state, move);
+            state = step(state, move);
+        }
+        return tiles;
+    }
+
+    private int tileMoved(long state, int move) {
+        int blank = blankOf(state);
+        int to = move == 0 ? blank - cols : move == 1 ? blank + cols : move == 2 ? blank - 1 : blank + 1;
+        return (int) (state >>> (4 * to) & 15);
+    }
+
+    // ---------- Command line ----------
+
+    /**
+     * Entry point for "java Main puzzle-bench [rows] [cols] [count] [seed]": solve the
+     * same random puzzles with IDA* and with bidirectional search and compare them.
+     */
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Randomizer randomizer = args.length > 3 ? new Randomizer(Long.parseLong(args[3])) : new Randomizer();
+        SlidingPuzzleSolver ida = new SlidingPuzzleSolver(rows, cols);
+        ida.setPatternDatabase(SlidingPuzzlePatternDatabase.loadIfPresent(rows, cols));
+        SlidingPuzzleBidirectionalSolver bfs = new SlidingPuzzleBidirectionalSolver(rows, cols);
+
+        long timeMs = 60 * 60 * 1000L;  // an hour: effectively no limit
+        long idaNanos = 0, bfsNanos = 0, moves = 0, positions = 0;
+        for (int i = 0; i < count; i++) {
+            short[] position = randomizer.randomCells(rows, cols);
+            byte[] cells = new byte[position.length];
+            for (int c = 0; c < cells.length; c++) cells[c] = (byte) position[c];
+
+            long start = System.nanoTime();
+            int[] a = ida.solve(cells, timeMs);
+            long middle = System.nanoTime();
+            int[] b = bfs.solve(cells, timeMs);
+            long end = System.nanoTime();
+            if (b == null) {
+                System.out.println("Puzzle " + (i + 1) + ": bidirectional search ran out of memory");
+                continue;
+            }
+            if (a.length != b.length) {
+                throw new IllegalStateException("Solvers disagree: " + a.length + " vs " + b.length + " moves");
+            }
+            idaNanos += middle - start;
+            bfsNanos += end - middle;
+            moves += b.length;
+            positions += bfs.getStatesVisited();
+        }
+        System.out.println(rows + "x" + cols + ", " + count + " puzzles, "
+                + Runtime.getRuntime().availableProcessors() + " cores, mean length " + moves / Math.max(1, count));
+        System.out.println("  IDA*:          " + idaNanos / 1_000_000 + " ms");
+        System.out.println("  bidirectional: " + bfsNanos / 1_000_000 + " ms, "
+                + positions / Math.max(1, count) + " positions per puzzle");
+    }
+
+    // ---------- Hash set ----------
+
+    /**
+     * Open-addressing set of packed positions with one byte per entry, safe for
+     * concurrent add() and get() (0 marks an empty slot; no position packs to 0).
+     */
+    private static final class LongSet {
+        private final AtomicLongArray keys;
+        private final byte[] values;
+        private final int mask;
+        private final AtomicLong count = new AtomicLong();
+
+        LongSet(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new byte[capacity];
+            mask = capacity - 1;
+        }
+
+        long size() {
+            return count.get();
+        }
+
+        // @return this set, or a larger copy, with room for "needed" entries at half load
+        LongSet ensure(long needed) {
+            if (needed * 2 <= keys.length()) return this;
+            long capacity = Long.highestOneBit(needed * 4 - 1);
+            if (capacity > 1 << 30) throw new IllegalStateException("Search set too large");
+            LongSet bigger = new LongSet((int) capacity);
+            for (int i = 0; i < keys.length(); i++) {
+                long key = keys.get(i);
+                if (key != 0) bigger.add(key, values[i]);
+            }
+            return bigger;
+        }
+
+        // @return true if the key was not in the set (and this call added it)
+        boolean add(long key, byte value) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) return false;
+                if (k == 0) {
+                    if (keys.compareAndSet(i, 0, key)) {
+                        values[i] = value;
+                        count.incrementAndGet();
+                        return true;
+                    }
+                    if (keys.get(i) == key) return false;
+                }
+            }
+        }
+
+        // @return the entry's byte (as 0..255), or -1 if absent
+        int get(long key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) return values[i] & 0xFF;
+                if (k == 0) return -1;
+            }
+        }
+
+        private static int hash(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
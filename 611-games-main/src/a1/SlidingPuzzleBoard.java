@@ -7,12 +7,22 @@ import common.Tile;
  * Sliding Puzzle specific board implementation.
  * Extends the common Board class to provide sliding puzzle functionality.
  *
+ * The position is kept as a primitive permutation: cells[cell] is the tile on
+ * a cell (row * cols + col, 0 = blank) and cellOf[tile] is its inverse, so
+ * finding, checking and sliding a tile are O(1) and allocate nothing.
+ * A count of misplaced tiles makes isGameOver() O(1) as well.
+ * The Board/Tile grid is only a view, rebuilt on demand when getTile() is
+ * called after the position changed; render() reads the cells directly.
+ *
  * Author: Zhuojun Lyu and Priyanshu Singh
  * Date: 2025-10-25
  */
 public class SlidingPuzzleBoard extends Board {
-    private int blankRow;
-    private int blankCol;
+    // No field initialisers: Board's constructor calls initializeBoard() before they would run
+    private short[] cells;    // tile on each cell
+    private short[] cellOf;   // cell of each tile (cellOf[0] = blank)
+    private int misplaced;    // tiles (blank included) not on their goal cell
+    private boolean viewStale;
 
     /**
      * Create a new sliding puzzle board.
@@ -25,18 +35,99 @@ public class SlidingPuzzleBoard extends Board {
 
     @Override
     protected void initializeBoard() {
-        int value = 1;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                grid[r][c] = new SlidingPuzzleTile(r, c, value++);
+        int size = rows * cols;
+        if (size > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Board too large: at most " + Short.MAX_VALUE + " cells");
+        }
+        if (cells == null) {
+            cells = new short[size];
+            cellOf = new short[size];
+        }
+        // Tiles 1..size-1 in order, blank in the last cell
+        for (int cell = 0; cell < size; cell++) {
+            int tile = (cell + 1) % size;
+            cells[cell] = (short) tile;
+            cellOf[tile] = (short) cell;
+        }
+        misplaced = 0;
+        viewStale = true;
+    }
+
+    // ---------- Primitive state ----------
+
+    /**
+     * @return the tile on a cell (0 = blank)
+     */
+    public int getValue(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    public int getBlankRow() {
+        return cellOf[0] / cols;
+    }
+
+    public int getBlankCol() {
+        return cellOf[0] % cols;
+    }
+
+    /**
+     * @return the cell (row * cols + col) holding a tile
+     */
+    public int getCellOf(int tile) {
+        return cellOf[tile];
+    }
+
+    /**
+     * Set up an arbitrary position, cells listed row by row (0 = blank).
+     * The caller is responsible for it being solvable.
+     */
+    public void setCells(short[] values) {
+        int size = rows * cols;
+        if (values.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " cells, got " + values.length);
+        }
+        boolean[] seen = new boolean[size];
+        for (short v : values) {
+            if (v < 0 || v >= size || seen[v]) {
+                throw new IllegalArgumentException("Cells must hold every tile 0.." + (size - 1) + " once");
             }
+            seen[v] = true;
         }
-        // Set last tile as blank
-        grid[rows - 1][cols - 1] = new SlidingPuzzleTile(rows - 1, cols - 1, 0);
-        blankRow = rows - 1;
-        blankCol = cols - 1;
+        misplaced = 0;
+        for (int cell = 0; cell < size; cell++) {
+            cells[cell] = values[cell];
+            cellOf[values[cell]] = (short) cell;
+            if (values[cell] != goalTile(cell)) misplaced++;
+        }
+        viewStale = true;
     }
 
+    /**
+     * @return a copy of the cells, row by row
+     */
+    public short[] copyCells() {
+        return cells.clone();
+    }
+
+    private int goalTile(int cell) {
+        return (cell + 1) % (rows * cols);
+    }
+
+    // Swap the blank with the tile on cell "to" (which must be next to it).
+    private void swapBlank(int to) {
+        int from = cellOf[0];
+        int tile = cells[to];
+        misplaced -= (cells[from] != goalTile(from) ? 1 : 0) + (tile != goalTile(to) ? 1 : 0);
+        cells[from] = (short) tile;
+        cells[to] = 0;
+        cellOf[tile] = (short) from;
+        cellOf[0] = (short) to;
+        misplaced += (tile != goalTile(from) ? 1 : 0) + (goalTile(to) != 0 ? 1 : 0);
+        viewStale = true;
+    }
+
+    // ---------- Moves ----------
+
     /**
      * Check if a numbered tile can slide into the blank.
      * @param number The tile number to check
@@ -45,17 +136,13 @@ public class SlidingPuzzleBoard extends Board {
     public boolean canSlide(int number) {
         if (number <= 0 || number >= rows * cols) return false;
 
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                SlidingPuzzleTile tile = (SlidingPuzzleTile) grid[r][c];
-                if (tile.getValue() == number) {
-                    // Check if adjacent to blank (not diagonal)
-                    return (r == blankRow && Math.abs(c - blankCol) == 1) ||
-                            (c == blankCol && Math.abs(r - blankRow) == 1);
-                }
-            }
-        }
-        return false;
+        int cell = cellOf[number];
+        int blank = cellOf[0];
+        int r = cell / cols, c = cell % cols;
+        int blankRow = blank / cols, blankCol = blank % cols;
+        // Check if adjacent to blank (not diagonal)
+        return (r == blankRow && Math.abs(c - blankCol) == 1) ||
+                (c == blankCol && Math.abs(r - blankRow) == 1);
     }
 
     /**
@@ -65,21 +152,8 @@ public class SlidingPuzzleBoard extends Board {
      */
     public boolean slide(int number) {
         if (!canSlide(number)) return false;
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                SlidingPuzzleTile tile = (SlidingPuzzleTile) grid[r][c];
-                if (tile.getValue() == number) {
-                    // Swap with blank
-                    grid[blankRow][blankCol] = tile;
-                    grid[r][c] = new SlidingPuzzleTile(r, c, 0);
-                    blankRow = r;
-                    blankCol = c;
-                    return true;
-                }
-            }
-        }
-        return false;
+        swapBlank(cellOf[number]);
+        return true;
     }
 
     /**
@@ -89,80 +163,88 @@ public class SlidingPuzzleBoard extends Board {
      * @return true if the move was successful
      */
     public boolean moveBlank(int dr, int dc) {
-        int newRow = blankRow + dr;
-        int newCol = blankCol + dc;
+        int newRow = getBlankRow() + dr;
+        int newCol = getBlankCol() + dc;
 
         if (!isValidPosition(newRow, newCol)) {
             return false;
         }
 
-        // Swap blank with adjacent tile
-        SlidingPuzzleTile adjacentTile = (SlidingPuzzleTile) grid[newRow][newCol];
-        grid[blankRow][blankCol] = adjacentTile;
-        grid[newRow][newCol] = new SlidingPuzzleTile(newRow, newCol, 0);
-        blankRow = newRow;
-        blankCol = newCol;
+        swapBlank(newRow * cols + newCol);
         return true;
     }
 
     @Override
     public boolean isGameOver() {
-        int expectedValue = 1;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (r == rows - 1 && c == cols - 1) {
-                    // Last position should be blank (0)
-                    return ((SlidingPuzzleTile) grid[r][c]).getValue() == 0;
-                }
-                if (((SlidingPuzzleTile) grid[r][c]).getValue() != expectedValue++) {
-                    return false;
+        return misplaced == 0;
+    }
+
+    // ---------- Tile view ----------
+
+    /**
+     * The Tile view of a cell, rebuilt from the cells if the position changed.
+     */
+    @Override
+    public Tile getTile(int row, int col) {
+        if (viewStale) {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    grid[r][c] = new SlidingPuzzleTile(r, c, cells[r * cols + c]);
                 }
             }
+            viewStale = false;
         }
-        return true;
+        return super.getTile(row, col);
     }
 
     @Override
     public String render() {
-        StringBuilder sb = new StringBuilder();
         int maxValue = rows * cols - 1;
         int width = Math.max(2, Integer.toString(maxValue).length());
+        StringBuilder sb = new StringBuilder((rows * 2 + 1) * (cols * (width + 3) + 2));
 
         for (int r = 0; r < rows; r++) {
             // Top border
-            for (int c = 0; c < cols; c++) {
-                sb.append("+");
-                for (int i = 0; i < width + 2; i++) {
-                    sb.append("-");
-                }
-            }
-            sb.append("+\n");
+            appendBorder(sb, width);
 
             // Cell contents
             for (int c = 0; c < cols; c++) {
                 sb.append("| ");
-                SlidingPuzzleTile tile = (SlidingPuzzleTile) grid[r][c];
-                if (tile.getValue() == 0) {
-                    for (int i = 0; i < width; i++) {
-                        sb.append(" ");
-                    }
-                } else {
-                    sb.append(String.format("%" + width + "d", tile.getValue()));
+                int value = cells[r * cols + c];
+                int digits = value == 0 ? 0 : digits(value);
+                for (int i = digits; i < width; i++) {
+                    sb.append(' ');
                 }
-                sb.append(" ");
+                if (value != 0) {
+                    sb.append(value);
+                }
+                sb.append(' ');
             }
             sb.append("|\n");
         }
 
         // Bottom border
+        appendBorder(sb, width);
+
+        return sb.toString();
+    }
+
+    private void appendBorder(StringBuilder sb, int width) {
         for (int c = 0; c < cols; c++) {
-            sb.append("+");
+            sb.append('+');
             for (int i = 0; i < width + 2; i++) {
-                sb.append("-");
+                sb.append('-');
             }
         }
         sb.append("+\n");
+    }
 
-        return sb.toString();
+    private static int digits(int value) {
+        int n = 1;
+        while (value >= 10) {
+            value /= 10;
+            n++;
+        }
+        return n;
     }
-}
\ No newline at end of file
+}
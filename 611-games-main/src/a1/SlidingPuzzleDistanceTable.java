@@ -0,0 +1,239 @@
+package a1;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Exact distance of every solvable position on small boards (3x3, 2x2 to 2x4
+ * and their transposes), found by breadth-first search from the goal.
+ *
+ * A position is ranked by where the blank and tiles 1..n-3 are: the last two
+ * tiles then have two cells left, and only one of the two orders is solvable.
+ * That ranks the n!/2 solvable positions densely (181,440 on 3x3), using the
+ * pattern database's placement ranking with k = n - 2.
+ *
+ * Like the pattern database, each entry is (distance - Manhattan distance) / 2
+ * in a nibble, so the 3x3 table takes 90 KB. A lookup is a rank plus a
+ * Manhattan sum over at most 9 cells. Each BFS level is expanded in parallel
+ * over a bitset frontier, with compare-and-set on the visited bits.
+ *
+ * Besides exact hints in the game, the table is ground truth for checking
+ * SlidingPuzzleSolver on these sizes.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleDistanceTable {
+    public static final int MAX_CELLS = 9;  // on 2x5, (distance - Manhattan) / 2 exceeds a nibble
+    private static final int WORDS_PER_TASK = 1 << 8;
+
+    private static final Map<Integer, SlidingPuzzleDistanceTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final int[] manhattan;     // [tile * size + cell]
+    private final int[][] neighbours;  // cells next to each cell
+    private final byte[] table;        // nibbles by rank
+    private final long[] levels;       // positions at each distance
+    private final int states;
+
+    private SlidingPuzzleDistanceTable(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        long count = 1;
+        for (int i = 3; i <= size; i++) count *= i;  // n! / 2
+        this.states = (int) count;
+        this.table = new byte[(states + 1) / 2];
+
+        this.manhattan = SlidingPuzzlePatternDatabase.manhattanTable(rows, cols);
+        this.neighbours = SlidingPuzzlePatternDatabase.neighbours(rows, cols);
+        this.levels = search();
+    }
+
+    /**
+     * @return true if a table can be built for this size
+     */
+    public static boolean supports(int rows, int cols) {
+        return rows >= 2 && cols >= 2 && rows * cols <= MAX_CELLS;
+    }
+
+    /**
+     * @return the table for this size, built on first use and then shared
+     */
+    public static SlidingPuzzleDistanceTable forSize(int rows, int cols) {
+        if (!supports(rows, cols)) {
+            throw new IllegalArgumentException("Distance tables support boards of 2x2 up to " + MAX_CELLS + " cells");
+        }
+        return TABLES.computeIfAbsent(rows << 8 | cols, k -> new SlidingPuzzleDistanceTable(rows, cols));
+    }
+
+    // ---------- Queries ----------
+
+    /**
+     * @return the fewest moves that solve a position (cells row by row, 0 = blank)
+     */
+    public int distance(short[] cells) {
+        if (cells.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " cells, got " + cells.length);
+        }
+        if (!Randomizer.isSolvable(cells, rows, cols)) {
+            throw new IllegalArgumentException("Position is not solvable");
+        }
+        int[] cellOf = new int[size];
+        int md = 0;
+        for (int cell = 0; cell < size; cell++) {
+            int tile = cells[cell];
+            cellOf[tile] = cell;
+            if (tile != 0) md += manhattan[tile * size + cell];
+        }
+        return md + 2 * nibble(SlidingPuzzlePatternDatabase.rank(cellOf, size, size - 2));
+    }
+
+    public int distance(SlidingPuzzleBoard board) {
+        return distance(board.copyCells());
+    }
+
+    /**
+     * @return a tile whose slide starts an optimal solution, or 0 if the board is solved
+     */
+    public int bestMove(SlidingPuzzleBoard board) {
+        short[] cells = board.copyCells();
+        int d = distance(cells);
+        if (d == 0) return 0;
+        int blank = board.getCellOf(0);
+        for (int cell : neighbours[blank]) {
+            short tile = cells[cell];
+            cells[blank] = tile;
+            cells[cell] = 0;
+            if (distance(cells) == d - 1) return tile;
+            cells[cell] = tile;
+            cells[blank] = 0;
+        }
+        throw new IllegalStateException("No neighbour is closer to the goal");
+    }
+
+    public int getMaxDistance() {
+        return levels.length - 1;
+    }
+
+    /**
+     * @return how many solvable positions are exactly this many moves from the goal
+     */
+    public long getPositionsAt(int distance) {
+        return distance >= 0 && distance < levels.length ? levels[distance] : 0;
+    }
+
+    public int getPositionCount() {
+        return states;
+    }
+
+    /**
+     * @return the solvable position with this rank (0 to getPositionCount() - 1), cells row by row
+     */
+    short[] positionAt(int rank) {
+        int[] cellOf = new int[size];
+        short[] cells = new short[size];
+        complete(rank, cellOf, cells);
+        return cells;
+    }
+
+    private int nibble(long rank) {
+        return (table[(int) (rank >>> 1)] >>> ((rank & 1) << 2)) & 15;
+    }
+
+    // ---------- Building ----------
+
+    // Level-by-level BFS from the goal; returns the number of positions per level.
+    private long[] search() {
+        int words = (states + 63) >>> 6;
+        AtomicLongArray visited = new AtomicLongArray(words);
+        AtomicLongArray current = new AtomicLongArray(words);
+        AtomicLongArray next = new AtomicLongArray(words);
+        int[] goal = new int[size];
+        for (int tile = 0; tile < size; tile++) {
+            goal[tile] = tile == 0 ? size - 1 : tile - 1;
+        }
+        long start = SlidingPuzzlePatternDatabase.rank(goal, size, size - 2);
+        SlidingPuzzlePatternDatabase.setBit(visited, start);
+        SlidingPuzzlePatternDatabase.setBit(current, start);
+        int tasks = (words + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+
+        long[] levels = new long[64];
+        for (int depth = 0; ; depth++) {
+            if (depth == levels.length) levels = Arrays.copyOf(levels, depth * 2);
+            final int d = depth;
+            final AtomicLongArray frontier = current, reached = next;
+            levels[depth] = IntStream.range(0, tasks).parallel()
+                    .mapToLong(task -> expand(task, d, frontier, reached, visited, words))
+                    .sum();
+            if (levels[depth] == 0) return Arrays.copyOf(levels, depth);
+            current = next;
+            next = frontier;  // emptied by expand()
+        }
+    }
+
+    // Expand one slice of the frontier: store each position's entry and mark its unseen neighbours.
+    private long expand(int task, int depth, AtomicLongArray frontier, AtomicLongArray reached,
+                        AtomicLongArray visited, int words) {
+        int[] cellOf = new int[size];
+        short[] cells = new short[size];
+        long count = 0;
+        int from = task * WORDS_PER_TASK;
+        int to = Math.min(words, from + WORDS_PER_TASK);
+        for (int w = from; w < to; w++) {
+            long bits = frontier.get(w);
+            frontier.set(w, 0);
+            for (; bits != 0; bits &= bits - 1) {
+                int rank = (w << 6) + Long.numberOfTrailingZeros(bits);
+                complete(rank, cellOf, cells);
+                int md = 0;
+                for (int tile = 1; tile < size; tile++) md += manhattan[tile * size + cellOf[tile]];
+                int extra = (depth - md) / 2;
+                if (extra > 15) {
+                    throw new IllegalStateException("Distance does not fit a nibble on " + rows + "x" + cols);
+                }
+                // Both nibbles of a byte belong to the same word, so no other task writes it
+                table[rank >>> 1] |= (byte) (extra << ((rank & 1) << 2));
+                count++;
+
+                int blank = cellOf[0];
+                for (int cell : neighbours[blank]) {
+                    int tile = cells[cell];
+                    cellOf[0] = cell;
+                    cellOf[tile] = blank;
+                    long moved = SlidingPuzzlePatternDatabase.rank(cellOf, size, size - 2);
+                    cellOf[tile] = cell;
+                    cellOf[0] = blank;
+                    if (SlidingPuzzlePatternDatabase.setBit(visited, moved)) SlidingPuzzlePatternDatabase.setBit(reached, moved);
+                }
+            }
+        }
+        return count;
+    }
+
+    // Unrank the blank and tiles 1..n-3, then put the last two tiles in their solvable order.
+    private void complete(long rank, int[] cellOf, short[] cells) {
+        SlidingPuzzlePatternDatabase.unrank(rank, size, size - 2, cellOf);
+        Arrays.fill(cells, (short) -1);
+        for (int tile = 0; tile < size - 2; tile++) cells[cellOf[tile]] = (short) tile;
+        int a = -1, b = -1;
+        for (int cell = 0; cell < size; cell++) {
+            if (cells[cell] >= 0) continue;
+            if (a < 0) a = cell;
+            else b = cell;
+        }
+        cells[a] = (short) (size - 2);
+        cells[b] = (short) (size - 1);
+        if (!Randomizer.isSolvable(cells, rows, cols)) {
+            cells[a] = (short) (size - 1);
+            cells[b] = (short) (size - 2);
+        }
+        cellOf[cells[a]] = a;
+        cellOf[cells[b]] = b;
+    }
+}
@@ -4,9 +4,10 @@ import engine.Game;
 import engine.TextUI;
 import common.Player;
 import common.InputValidator;
-import java.util.Random;
 import common.Statistics;
 
+import java.util.PrimitiveIterator;
+
 /**
  * Sliding Puzzle game implementation.
  * Extends the Game base class to provide sliding puzzle functionality.
@@ -20,14 +21,11 @@ public class SlidingPuzzleGame extends Game {
     private int rows;
     private int cols;
     private int difficulty;
-    private Random random;
+    private final SlidingPuzzleGenerator generator;
+    private SlidingPuzzleHintCache hints;  // created on the first hint
+    private SlidingPuzzleDistanceTable distances;  // exact distances on small boards, else null
 
     private final Statistics stats;
-    
-    // Difficulty settings
-    private static final int EASY_MULTIPLIER = 10;
-    private static final int NORMAL_MULTIPLIER = 20;
-    private static final int HARD_MULTIPLIER = 50;
 
     /**
      * Create a new Sliding Puzzle game.
@@ -36,7 +34,8 @@ public class SlidingPuzzleGame extends Game {
     public SlidingPuzzleGame(TextUI ui, Statistics stats) {  // ✅ 修改构造函数签名
         super(ui);
         this.validator = new InputValidator(ui);
-        this.random = new Random();
+        this.generator = SlidingPuzzleGenerator.getShared();
+        this.generator.warmUp(3, 3);  // the default size starts without waiting
         this.stats = stats;
     }
 
@@ -61,12 +60,14 @@ public class SlidingPuzzleGame extends Game {
 
         // Create and shuffle board
         board = new SlidingPuzzleBoard(rows, cols);
+        distances = SlidingPuzzleDistanceTable.supports(rows, cols)
+                ? SlidingPuzzleDistanceTable.forSize(rows, cols) : null;
         shuffleBoard();
     }
 
     @Override
     protected boolean processTurn() {
-        ui.print("\nEnter tile number to slide (h=help, r=reset, q=quit): ");
+        ui.print("\nEnter tile number to slide (h=help, ?=hint, r=reset, q=quit): ");
         String input = ui.nextLine().trim();
 
         if (input.equalsIgnoreCase("q")) {
@@ -78,9 +79,15 @@ public class SlidingPuzzleGame extends Game {
             return true;
         }
 
+        if (input.equals("?") || input.equalsIgnoreCase("hint")) {
+            displayHint();
+            return true;
+        }
+
         if (input.equalsIgnoreCase("r")) {
             board.reset();
             shuffleBoard();
+            if (hints != null) hints.clear();
             ui.println(ui.cyan("Board reset and reshuffled."));
             return true;
         }
@@ -98,6 +105,7 @@ public class SlidingPuzzleGame extends Game {
         }
 
         board.slide(tileNumber);
+        if (hints != null) hints.played(tileNumber);
         getCurrentPlayer().addScore(1);  // Track moves as score
         return true;
     }
@@ -110,7 +118,11 @@ public class SlidingPuzzleGame extends Game {
     @Override
     protected void displayGameState() {
         ui.println("\n" + board.render());
-        ui.println("Moves: " + getCurrentPlayer().getScore());
+        if (distances != null) {
+            ui.println("Moves: " + getCurrentPlayer().getScore() + "   Moves to solve: " + distances.distance(board));
+        } else {
+            ui.println("Moves: " + getCurrentPlayer().getScore());
+        }
     }
 
     @Override
@@ -136,11 +148,47 @@ public class SlidingPuzzleGame extends Game {
         ui.println("Goal: Arrange tiles in numerical order with blank at the end");
         ui.println("Commands:");
         ui.println("  <number> - Slide the numbered tile into the blank");
+        ui.println("  ?        - Suggest the next tile (from an optimal solution)");
         ui.println("  h        - Show this help");
         ui.println("  r        - Reset and reshuffle the board");
         ui.println("  q        - Quit the game");
     }
 
+    /**
+     * Suggest the first move of an optimal solution: exact from the distance table on
+     * small boards, otherwise from IDA* (through the hint cache), if one is found in time.
+     */
+    private void displayHint() {
+        if (distances != null) {
+            // Small boards: read the exact answer from the distance table
+            int moves = distances.distance(board);
+            if (moves == 0) {
+                ui.println(ui.cyan("The puzzle is already solved."));
+            } else {
+                ui.println(ui.cyan("Hint: slide " + distances.bestMove(board) + " (solvable in " + moves + " moves)"));
+            }
+            return;
+        }
+        if (hints == null) {
+            hints = new SlidingPuzzleHintCache(rows, cols, SlidingPuzzleSolver.DEFAULT_TIME_MS);
+        }
+        // Reuses the last solution while the player stays near it
+        int tile = hints.nextMove(board);
+        if (tile < 0) {
+            // Fall back to the first move of a longer, row-by-row solution
+            PrimitiveIterator.OfInt moves = new SlidingPuzzleReductionSolver(rows, cols).solve(board);
+            ui.println(ui.yellow("No optimal solution found within "
+                    + SlidingPuzzleSolver.DEFAULT_TIME_MS / 1000 + " seconds; a longer solution starts with "
+                    + moves.nextInt() + "."));
+        } else if (tile == 0) {
+            ui.println(ui.cyan("The puzzle is already solved."));
+        } else if (hints.isOptimal()) {
+            ui.println(ui.cyan("Hint: slide " + tile + " (solvable in " + hints.getRemaining() + " moves)"));
+        } else {
+            ui.println(ui.cyan("Hint: slide " + tile + " (back towards a solution of " + hints.getRemaining() + " moves)"));
+        }
+    }
+
     /**
      * Select difficulty level.
      * @return 1 for Easy, 2 for Normal, 3 for Hard
@@ -163,40 +211,9 @@ public class SlidingPuzzleGame extends Game {
     }
 
     /**
-     * Shuffle the board based on difficulty.
+     * Set up a puzzle whose measured difficulty matches the chosen level.
      */
     private void shuffleBoard() {
-        int steps = calculateShuffleSteps();
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-
-        for (int i = 0; i < steps; i++) {
-            // Try random directions until one works
-            int attempts = 0;
-            while (attempts < 10) {
-                int[] dir = directions[random.nextInt(4)];
-                if (board.moveBlank(dir[0], dir[1])) {
-                    break;
-                }
-                attempts++;
-            }
-        }
-    }
-
-    /**
-     * Calculate number of shuffle steps based on difficulty.
-     * @return Number of shuffle steps
-     */
-    private int calculateShuffleSteps() {
-        int base = rows * cols;
-        int multiplier;
-
-        switch (difficulty) {
-            case 1:  multiplier = EASY_MULTIPLIER; break;
-            case 2:  multiplier = NORMAL_MULTIPLIER; break;
-            case 3:  multiplier = HARD_MULTIPLIER; break;
-            default: multiplier = NORMAL_MULTIPLIER;
-        }
-
-        return Math.max(40, base * multiplier);
+        board.setCells(generator.next(rows, cols, difficulty));
     }
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package a1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates sliding puzzles whose difficulty is measured, not guessed.
+ *
+ * A candidate is scored by its optimal solution length (IDA*) on boards of up
+ * to EXACT_MAX_CELLS cells, and by the solver's lower bound (Manhattan plus
+ * linear conflict, or the pattern database if one was built) on larger ones.
+ * Each difficulty is a band of scores relative to the mean score of uniformly
+ * random positions of that size:
+ *
+ *   Easy 25-45%, Normal 50-75%, Hard 85% and up.
+ *
+ * Easy and Normal candidates are blank walks from the goal that stop as soon
+ * as the lower bound reaches a random score in the band; Hard candidates are uniform positions.
+ * Candidates are generated in parallel, one task per core, and the first one
+ * in the band is used.
+ *
+ * Accepted puzzles are kept in a pool per size and difficulty that is topped
+ * up in the background after every take, so a game normally gets its puzzle
+ * without waiting.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleGenerator {
+    public static final int EASY = 1;
+    public static final int NORMAL = 2;
+    public static final int HARD = 3;
+
+    private static final int EXACT_MAX_CELLS = 10;
+    private static final int MAX_CELLS = SlidingPuzzleSolver.MAX_CELLS;
+    private static final int POOL_SIZE = 4;
+    private static final int REFERENCE_SAMPLES = 16;
+    private static final int MAX_WALK = 50;            // walk steps per cell before giving up
+    private static final long SOLVE_TIME_MS = 500;     // per exact candidate
+    private static final double[][] BANDS = {          // fractions of the reference score
+            {0.25, 0.45}, {0.50, 0.75}, {0.85, Double.MAX_VALUE}};
+
+    private static final SlidingPuzzleGenerator SHARED = new SlidingPuzzleGenerator();
+
+    private final ExecutorService executor;
+    private final int workers;
+    private final AtomicLong seeds;
+    private final Map<Integer, Queue<short[]>> pools = new ConcurrentHashMap<>();
+    private final Set<Integer> refilling = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Integer> references = new ConcurrentHashMap<>();
+
+    public SlidingPuzzleGenerator() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * @param seed first seed of the candidate streams (each task uses the next one)
+     */
+    public SlidingPuzzleGenerator(long seed) {
+        this.workers = Runtime.getRuntime().availableProcessors();
+        this.seeds = new AtomicLong(seed);
+        this.executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "puzzle-generator");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @return the generator shared by all games, so its pools outlive one game
+     */
+    public static SlidingPuzzleGenerator getShared() {
+        return SHARED;
+    }
+
+    // ---------- Puzzles ----------
+
+    /**
+     * Take a puzzle from the pool (or generate one now if it is empty) and
+     * start refilling the pool in the background.
+     * @return cells row by row (0 = blank)
+     */
+    public short[] next(int rows, int cols, int difficulty) {
+        int key = key(rows, cols, difficulty);
+        short[] cells = pool(key).poll();
+        if (cells == null) {
+            cells = generate(rows, cols, difficulty);
+        }
+        refill(rows, cols, difficulty);
+        return cells;
+    }
+
+    /**
+     * Fill the pools of every difficulty for a size in the background.
+     */
+    public void warmUp(int rows, int cols) {
+        for (int d = EASY; d <= HARD; d++) {
+            refill(rows, cols, d);
+        }
+    }
+
+    /**
+     * Generate one puzzle now, racing one candidate search per core.
+     * @return cells row by row (0 = blank)
+     */
+    public short[] generate(int rows, int cols, int difficulty) {
+        checkArguments(rows, cols, difficulty);
+        List<Callable<short[]>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> search(rows, cols, difficulty, seeds.getAndIncrement()));
+        }
+        try {
+            return executor.invokeAny(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating a puzzle", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Puzzle generation failed", e.getCause());
+        }
+    }
+
+    /**
+     * @return the range of scores accepted for a difficulty, {low, high}
+     */
+    public int[] getBand(int rows, int cols, int difficulty) {
+        checkArguments(rows, cols, difficulty);
+        int reference = references.computeIfAbsent(rows << 8 | cols, k -> measureReference(rows, cols));
+        double[] band = BANDS[difficulty - 1];
+        int low = Math.max(1, (int) Math.round(reference * band[0]));
+        int high = band[1] == Double.MAX_VALUE ? Integer.MAX_VALUE
+                : Math.max(low, (int) Math.round(reference * band[1]));
+        return new int[] {low, high};
+    }
+
+    /**
+     * @return true if scores on this size are optimal solution lengths (false: lower bounds)
+     */
+    public static boolean isExact(int rows, int cols) {
+        return rows * cols <= EXACT_MAX_CELLS;
+    }
+
+    // ---------- Pools ----------
+
+    private Queue<short[]> pool(int key) {
+        return pools.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+    }
+
+    private void refill(int rows, int cols, int difficulty) {
+        int key = key(rows, cols, difficulty);
+        if (!refilling.add(key)) return;  // already running
+        executor.execute(() -> {
+            try {
+                Queue<short[]> pool = pool(key);
+                // One puzzle per task round, so a waiting generate() is never stuck behind a whole refill
+                if (pool.size() < POOL_SIZE) {
+                    pool.add(search(rows, cols, difficulty, seeds.getAndIncrement()));
+                }
+                refilling.remove(key);
+                if (pool.size() < POOL_SIZE) refill(rows, cols, difficulty);
+            } catch (RuntimeException e) {
+                refilling.remove(key);
+            }
+        });
+    }
+
+    private static int key(int rows, int cols, int difficulty) {
+        return rows << 16 | cols << 4 | difficulty;
+    }
+
+    // ---------- Candidates ----------
+
+    // Draw candidates until one scores inside the band.
+    private short[] search(int rows, int cols, int difficulty, long seed) {
+        int[] band = getBand(rows, cols, difficulty);
+        Randomizer randomizer = new Randomizer(seed);
+        Random random = new Random(~seed);
+        SlidingPuzzleSolver solver = newSolver(rows, cols);
+        boolean exact = isExact(rows, cols);
+        while (!Thread.currentThread().isInterrupted()) {
+            short[] cells = difficulty == HARD
+                    ? randomizer.randomCells(rows, cols)
+                    : walk(random, solver, rows, cols, band[0] + random.nextInt(band[1] - band[0] + 1));
+            if (cells == null) continue;
+            int score = score(solver, cells, exact);
+            if (score >= band[0] && score <= band[1]) return cells;
+        }
+        throw new IllegalStateException("Interrupted");
+    }
+
+    // Blank walk from the goal, never undoing the last move, until the lower bound
+    // reaches "target" (null if it takes too long).
+    private static short[] walk(Random random, SlidingPuzzleSolver solver, int rows, int cols, int target) {
+        int size = rows * cols;
+        byte[] cells = new byte[size];
+        for (int cell = 0; cell < size; cell++) {
+            cells[cell] = (byte) ((cell + 1) % size);
+        }
+        int[] options = new int[4];
+        int blank = size - 1, previous = -1;
+        for (int step = 0; step < MAX_WALK * size; step++) {
+            int r = blank / cols, c = blank % cols, n = 0;
+            if (r > 0 && blank - cols != previous) options[n++] = blank - cols;
+            if (r < rows - 1 && blank + cols != previous) options[n++] = blank + cols;
+            if (c > 0 && blank - 1 != previous) options[n++] = blank - 1;
+            if (c < cols - 1 && blank + 1 != previous) options[n++] = blank + 1;
+            int to = options[random.nextInt(n)];
+            cells[blank] = cells[to];
+            cells[to] = 0;
+            previous = blank;
+            blank = to;
+            if (solver.estimate(cells) >= target) {
+                short[] result = new short[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = cells[i];
+                }
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static int score(SlidingPuzzleSolver solver, short[] cells, boolean exact) {
+        byte[] bytes = new byte[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            bytes[i] = (byte) cells[i];
+        }
+        if (!exact) return solver.estimate(bytes);
+        int[] solution = solver.solve(bytes, SOLVE_TIME_MS);
+        return solution == null ? -1 : solution.length;
+    }
+
+    // Mean score of uniformly random positions.
+    private int measureReference(int rows, int cols) {
+        Randomizer randomizer = new Randomizer(seeds.getAndIncrement());
+        SlidingPuzzleSolver solver = newSolver(rows, cols);
+        boolean exact = isExact(rows, cols);
+        long total = 0;
+        int count = 0;
+        for (int i = 0; i < REFERENCE_SAMPLES; i++) {
+            int score = score(solver, randomizer.randomCells(rows, cols), exact);
+            if (score >= 0) {
+                total += score;
+                count++;
+            }
+        }
+        return count == 0 ? rows * cols : (int) Math.round((double) total / count);
+    }
+
+    private static SlidingPuzzleSolver newSolver(int rows, int cols) {
+        SlidingPuzzleSolver solver = new SlidingPuzzleSolver(rows, cols);
+        // Pattern databases are read only, so tasks share the cached tables
+        solver.setPatternDatabase(SlidingPuzzlePatternDatabase.loadIfPresent(rows, cols));
+        return solver;
+    }
+
+    private static void checkArguments(int rows, int cols, int difficulty) {
+        if (rows < 2 || cols < 2 || rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Board must be at least 2x2 and at most " + MAX_CELLS + " cells");
+        }
+        if (difficulty < EASY || difficulty > HARD) {
+            throw new IllegalArgumentException("Difficulty must be 1 (Easy), 2 (Normal) or 3 (Hard)");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package a1;
+
+/**
+ * Hint service that keeps the solver's path and follows the player along it.
+ *
+ * The path is a stack of tiles to slide, next move on top. When the player
+ * slides the tile on top, the rest of an optimal path is still optimal, so it
+ * is popped. When they slide another tile, sliding that same tile back undoes
+ * it, so it is pushed: the path is then at most one move longer than needed.
+ * Following the pushed move pops it and the path is optimal again.
+ *
+ * The solver runs only for the first hint and after the player has strayed
+ * more than MAX_DETOUR moves away from the path (or it was cleared).
+ * A position the solver gave up on is remembered until the player moves, so
+ * asking again does not repeat the search.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleHintCache {
+    public static final int MAX_DETOUR = 3;
+
+    private final SlidingPuzzleSolver solver;
+    private final long timeMs;
+    private int[] moves = new int[64];  // stack, next move on top
+    private int top;
+    private int detour;                 // pushed undo moves still on top of the optimal path
+    private boolean cached;
+    private boolean failed;             // the solver timed out on the current position
+    private long solves;
+
+    public SlidingPuzzleHintCache(int rows, int cols, long timeMs) {
+        this.solver = new SlidingPuzzleSolver(rows, cols);
+        // Pattern databases are only used if built beforehand ("java Main build-pdb 4 4")
+        this.solver.setPatternDatabase(SlidingPuzzlePatternDatabase.loadIfPresent(rows, cols));
+        this.timeMs = timeMs;
+    }
+
+    /**
+     * @return the tile to slide next, 0 if the board is solved, or -1 if no
+     *         solution was found in time
+     */
+    public int nextMove(SlidingPuzzleBoard board) {
+        if (board.isGameOver()) return 0;
+        if (cached && top > 0 && board.canSlide(moves[top - 1])) {
+            return moves[top - 1];
+        }
+        if (failed) return -1;
+
+        cached = false;
+        solves++;
+        int[] solution = solver.solve(board, timeMs);
+        if (solution == null) {
+            failed = true;
+            return -1;
+        }
+        if (moves.length < solution.length + MAX_DETOUR) {
+            moves = new int[solution.length * 2 + MAX_DETOUR];
+        }
+        for (int i = 0; i < solution.length; i++) {
+            moves[solution.length - 1 - i] = solution[i];
+        }
+        top = solution.length;
+        detour = 0;
+        cached = true;
+        return moves[top - 1];
+    }
+
+    /**
+     * Follow a slide the player made.
+     */
+    public void played(int tile) {
+        failed = false;
+        if (!cached) return;
+        if (top > 0 && moves[top - 1] == tile) {
+            top--;
+            if (detour > 0) detour--;
+        } else if (detour < MAX_DETOUR) {
+            moves[top++] = tile;  // sliding it back returns to the path
+            detour++;
+        } else {
+            cached = false;       // strayed too far: solve again on the next hint
+        }
+    }
+
+    /**
+     * Forget the path, e.g. after the board was reshuffled.
+     */
+    public void clear() {
+        cached = false;
+        failed = false;
+    }
+
+    /**
+     * @return moves left on the cached path (0 if none is cached)
+     */
+    public int getRemaining() {
+        return cached ? top : 0;
+    }
+
+    /**
+     * @return true if the cached path is known to be a shortest one
+     */
+    public boolean isOptimal() {
+        return cached && detour == 0;
+    }
+
+    /**
+     * @return how many times the solver has run
+     */
+    public long getSolveCount() {
+        return solves;
+    }
+}
@@ -0,0 +1,534 @@
+package a1;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Disjoint additive pattern databases for the sliding puzzle.
+ *
+ * The tiles are split into groups (e.g. 6-6-3 on 4x4, 6-6-6-6 on 5x5). For
+ * every placement of a group's tiles, its table holds the fewest moves *of
+ * those tiles* needed to bring them home, other tiles being indistinct. Only
+ * a group's own moves are counted, so the values of the groups can be added
+ * and the sum is still a lower bound, far stronger than Manhattan distance.
+ *
+ * A table is built by breadth-first search from the goal over (group
+ * positions, blank position) states. Blank moves that do not move a group
+ * tile cost 0 and are expanded within the same level. Each level is expanded
+ * in parallel over a bitset frontier, with compare-and-set on the visited bits.
+ *
+ * Entries are stored as (moves - Manhattan distance of the group) / 2, which
+ * is always a whole number and fits a nibble (capped at 15, which keeps it a
+ * lower bound). Tables are saved once and memory-mapped on load, so start-up
+ * does not read or decode them.
+ *
+ * File layout: 'S' 'P' 'D' 'B' version, rows, cols, groups, then per group its
+ * size and tiles, then the nibble tables one after another.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzlePatternDatabase {
+    private static final int VERSION = 1;
+    private static final int MAX_GROUP = 6;
+    private static final int MAX_CELLS = 32;  // cell sets are int bitmasks
+    private static final int WORDS_PER_TASK = 1 << 10;
+    private static final byte UNSEEN = -1;
+
+    private final int rows;
+    private final int cols;
+    private final int[][] groups;     // tiles of each group
+    private final int[] groupOf;      // by tile
+    private final int[] manhattan;    // [tile * size + cell]
+    private final ByteBuffer tables;  // all nibble tables, heap while building, mapped once loaded
+    private final int[] offsets;      // byte offset of each group's table
+
+    private SlidingPuzzlePatternDatabase(int rows, int cols, int[][] groups, ByteBuffer tables) {
+        int size = rows * cols;
+        this.rows = rows;
+        this.cols = cols;
+        this.groups = groups;
+        this.tables = tables;
+        this.groupOf = new int[size];
+        this.offsets = new int[groups.length];
+        int offset = 0;
+        for (int g = 0; g < groups.length; g++) {
+            for (int tile : groups[g]) groupOf[tile] = g;
+            offsets[g] = offset;
+            offset += (int) ((placements(size, groups[g].length) + 1) / 2);
+        }
+        this.manhattan = manhattanTable(rows, cols);
+    }
+
+    /**
+     * Standard partitions: 6-6-3 for 4x4, 6-6-6-6 for 5x5, otherwise runs of
+     * up to 6 tiles in goal order.
+     */
+    public static int[][] defaultGroups(int rows, int cols) {
+        if (rows == 4 && cols == 4) {
+            return new int[][]{{1, 5, 6, 9, 10, 13}, {7, 8, 11, 12, 14, 15}, {2, 3, 4}};
+        }
+        if (rows == 5 && cols == 5) {
+            return new int[][]{{1, 2, 3, 6, 7, 8}, {4, 5, 9, 10, 14, 15},
+                    {11, 12, 16, 17, 21, 22}, {13, 18, 19, 20, 23, 24}};
+        }
+        int tiles = rows * cols - 1;
+        int[][] groups = new int[(tiles + 5) / 6][];
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = new int[Math.min(6, tiles - 6 * g)];
+            for (int i = 0; i < groups[g].length; i++) groups[g][i] = 6 * g + i + 1;
+        }
+        return groups;
+    }
+
+    public static Path defaultFile(int rows, int cols) {
+        return Paths.get(System.getProperty("user.home"), ".cs611", "puzzle-" + rows + "x" + cols + ".pdb");
+    }
+
+    /**
+     * Load the default tables for this size from the cache directory, building and saving them first if needed.
+     */
+    public static SlidingPuzzlePatternDatabase forSize(int rows, int cols) throws IOException {
+        Path file = defaultFile(rows, cols);
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.getParent());
+            build(rows, cols, defaultGroups(rows, cols)).save(file);
+        }
+        return load(file);
+    }
+
+    /**
+     * @return the cached default tables for this size, or null if they have not been built
+     */
+    public static SlidingPuzzlePatternDatabase loadIfPresent(int rows, int cols) {
+        Path file = defaultFile(rows, cols);
+        if (!Files.exists(file)) return null;
+        try {
+            return load(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ---------- Building ----------
+
+    /**
+     * Compute every group's table in memory.
+     */
+    public static SlidingPuzzlePatternDatabase build(int rows, int cols, int[][] groups) {
+        int size = rows * cols;
+        if (size > MAX_CELLS) {
+            throw new IllegalArgumentException("Pattern databases support at most " + MAX_CELLS + " cells");
+        }
+        boolean[] seen = new boolean[size];
+        long total = 0;
+        for (int[] group : groups) {
+            if (group.length < 1 || group.length > MAX_GROUP) {
+                throw new IllegalArgumentException("Groups must have 1 to " + MAX_GROUP + " tiles");
+            }
+            for (int tile : group) {
+                if (tile < 1 || tile >= size || seen[tile]) {
+                    throw new IllegalArgumentException("Groups must be disjoint tiles between 1 and " + (size - 1));
+                }
+                seen[tile] = true;
+            }
+            total += (placements(size, group.length) + 1) / 2;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pattern tables too large");
+        }
+
+        ByteBuffer tables = ByteBuffer.allocate((int) total);
+        SlidingPuzzlePatternDatabase pdb = new SlidingPuzzlePatternDatabase(rows, cols, groups, tables);
+        for (int g = 0; g < groups.length; g++) {
+            byte[] moves = new GroupSearch(rows, cols, groups[g]).run();
+            pdb.pack(g, moves);
+        }
+        if (SlidingPuzzleDistanceTable.supports(rows, cols)) {
+            pdb.check(SlidingPuzzleDistanceTable.forSize(rows, cols));
+        }
+        return pdb;
+    }
+
+    // On small boards, make sure no position is overestimated against the exact distances.
+    private void check(SlidingPuzzleDistanceTable exact) {
+        int size = rows * cols;
+        byte[] cells = new byte[size];
+        for (int rank = 0; rank < exact.getPositionCount(); rank++) {
+            short[] position = exact.positionAt(rank);
+            for (int cell = 0; cell < size; cell++) cells[cell] = (byte) position[cell];
+            int d = exact.distance(position);
+            if (estimate(cells) > d) {
+                throw new IllegalStateException("Pattern database overestimates " + Arrays.toString(position)
+                        + ": " + estimate(cells) + " > " + d);
+            }
+        }
+    }
+
+    // Turn exact move counts into nibbles of (moves - Manhattan) / 2.
+    private void pack(int g, byte[] moves) {
+        int size = rows * cols;
+        int k = groups[g].length;
+        int[] cells = new int[k];
+        for (int rank = 0; rank < moves.length; rank++) {
+            // A group holding all tiles but at most one has placements of the wrong parity, never reached
+            if (moves[rank] == UNSEEN) continue;
+            unrank(rank, size, k, cells);
+            int md = 0;
+            for (int i = 0; i < k; i++) md += manhattan[groups[g][i] * size + cells[i]];
+            int extra = Math.min(15, (moves[rank] - md) / 2);
+            int at = offsets[g] + (rank >>> 1);
+            int shift = (rank & 1) << 2;
+            tables.put(at, (byte) (tables.get(at) | (extra & 15) << shift));
+        }
+    }
+
+    // 0-1 breadth-first search for one group, over (group cells..., blank cell) states.
+    private static class GroupSearch {
+        private final int size;
+        private final int k;
+        private final int[] goal;          // goal cells of the group tiles, then the blank
+        private final int[][] neighbours;
+        private final byte[] moves;        // by group placement rank
+        private final AtomicLongArray visited;
+        private AtomicLongArray work;
+        private AtomicLongArray found;
+        private final AtomicLongArray next;
+        private final int words;
+
+        GroupSearch(int rows, int cols, int[] group) {
+            this.size = rows * cols;
+            this.k = group.length;
+            this.goal = new int[k + 1];
+            for (int i = 0; i < k; i++) goal[i] = group[i] - 1;
+            goal[k] = size - 1;
+            this.neighbours = neighbours(rows, cols);
+            long states = placements(size, k + 1);
+            this.words = (int) ((states + 63) >>> 6);
+            this.moves = new byte[(int) placements(size, k)];
+            Arrays.fill(moves, UNSEEN);
+            this.visited = new AtomicLongArray(words);
+            this.work = new AtomicLongArray(words);
+            this.found = new AtomicLongArray(words);
+            this.next = new AtomicLongArray(words);
+        }
+
+        byte[] run() {
+            long start = rank(goal, size, k + 1);
+            setBit(visited, start);
+            setBit(work, start);
+            int tasks = (words + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+
+            for (int level = 0; ; level++) {
+                final int depth = level;
+                // Cost-0 blank moves stay on this level: expand until nothing new turns up
+                boolean more = true;
+                while (more) {
+                    IntStream.range(0, tasks).parallel().forEach(task -> expand(task, depth));
+                    AtomicLongArray done = work;  // emptied by expand()
+                    work = found;
+                    found = done;
+                    more = false;
+                    for (int w = 0; w < words && !more; w++) {
+                        more = work.get(w) != 0;
+                    }
+                }
+
+                // Moves of a group tile cost 1: they seed the next level, unless reached already
+                boolean any = false;
+                for (int w = 0; w < words; w++) {
+                    long bits = next.get(w) & ~visited.get(w);
+                    next.set(w, 0);
+                    if (bits != 0) {
+                        visited.set(w, visited.get(w) | bits);
+                        work.set(w, bits);
+                        any = true;
+                    }
+                }
+                if (!any) return moves;
+            }
+        }
+
+        private void expand(int task, int depth) {
+            int[] cells = new int[k + 1];
+            int from = task * WORDS_PER_TASK;
+            int to = Math.min(words, from + WORDS_PER_TASK);
+            for (int w = from; w < to; w++) {
+                long bits = work.get(w);
+                work.set(w, 0);
+                for (; bits != 0; bits &= bits - 1) {
+                    long state = ((long) w << 6) + Long.numberOfTrailingZeros(bits);
+                    unrank(state, size, k + 1, cells);
+                    int placement = (int) (state / (size - k));  // rank of the group cells alone
+                    if (moves[placement] == UNSEEN) moves[placement] = (byte) depth;
+
+                    int blank = cells[k];
+                    for (int cell : neighbours[blank]) {
+                        int tile = -1;
+                        for (int i = 0; i < k; i++) {
+                            if (cells[i] == cell) tile = i;
+                        }
+                        cells[k] = cell;
+                        if (tile < 0) {
+                            long moved = rank(cells, size, k + 1);
+                            if (setBit(visited, moved)) setBit(found, moved);
+                        } else {
+                            cells[tile] = blank;
+                            long moved = rank(cells, size, k + 1);
+                            cells[tile] = cell;
+                            if (!testBit(visited, moved)) setBit(next, moved);
+                        }
+                        cells[k] = blank;
+                    }
+                }
+            }
+        }
+    }
+
+    static boolean testBit(AtomicLongArray bits, long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    // @return true if this call set the bit
+    static boolean setBit(AtomicLongArray bits, long index) {
+        int w = (int) (index >>> 6);
+        long mask = 1L << index;
+        while (true) {
+            long old = bits.get(w);
+            if ((old & mask) != 0) return false;
+            if (bits.compareAndSet(w, old, old | mask)) return true;
+        }
+    }
+
+    // ---------- Board geometry ----------
+
+    /**
+     * Manhattan distance of every tile from every cell, indexed [tile * size + cell]
+     * (tile 0, the blank, is all zeros).
+     */
+    static int[] manhattanTable(int rows, int cols) {
+        int size = rows * cols;
+        int[] manhattan = new int[size * size];
+        for (int t = 1; t < size; t++) {
+            for (int cell = 0; cell < size; cell++) {
+                manhattan[t * size + cell] = Math.abs(cell / cols - (t - 1) / cols)
+                        + Math.abs(cell % cols - (t - 1) % cols);
+            }
+        }
+        return manhattan;
+    }
+
+    /**
+     * Cells next to each cell, in the order up, down, left, right.
+     */
+    static int[][] neighbours(int rows, int cols) {
+        int size = rows * cols;
+        int[][] neighbours = new int[size][];
+        for (int cell = 0; cell < size; cell++) {
+            int r = cell / cols, c = cell % cols;
+            int[] list = new int[4];
+            int n = 0;
+            if (r > 0) list[n++] = cell - cols;
+            if (r < rows - 1) list[n++] = cell + cols;
+            if (c > 0) list[n++] = cell - 1;
+            if (c < cols - 1) list[n++] = cell + 1;
+            neighbours[cell] = Arrays.copyOf(list, n);
+        }
+        return neighbours;
+    }
+
+    // ---------- Ranking ----------
+
+    // n * (n - 1) * ... * (n - k + 1)
+    private static long placements(int n, int k) {
+        long p = 1;
+        for (int i = 0; i < k; i++) p *= n - i;
+        return p;
+    }
+
+    /**
+     * Rank k distinct cells out of n, in mixed radix n, n - 1, ..., so that
+     * the rank of the first j cells is the rank of all k divided by (n-j)...(n-k+1).
+     */
+    static long rank(int[] cells, int n, int k) {
+        long r = 0;
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            int c = cells[i];
+            r = r * (n - i) + c - Integer.bitCount(used & ((1 << c) - 1));
+            used |= 1 << c;
+        }
+        return r;
+    }
+
+    static void unrank(long r, int n, int k, int[] cells) {
+        for (int i = k - 1; i >= 0; i--) {
+            cells[i] = (int) (r % (n - i));
+            r /= n - i;
+        }
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            // cells[i] is the index among cells still free: pick that free cell
+            int d = cells[i];
+            int c = 0;
+            while (true) {
+                if ((used & (1 << c)) == 0 && d-- == 0) break;
+                c++;
+            }
+            cells[i] = c;
+            used |= 1 << c;
+        }
+    }
+
+    // ---------- File ----------
+
+    public void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(tmp.toFile(), "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            ByteBuffer header = ByteBuffer.allocate(headerSize(groups));
+            header.put(new byte[]{'S', 'P', 'D', 'B', VERSION, (byte) rows, (byte) cols, (byte) groups.length});
+            for (int[] group : groups) {
+                header.put((byte) group.length);
+                for (int tile : group) header.put((byte) tile);
+            }
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+            ByteBuffer body = tables.duplicate();
+            body.clear();
+            while (body.hasRemaining()) channel.write(body);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Memory-map saved tables (read-only).
+     */
+    public static SlidingPuzzlePatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer fixed = ByteBuffer.allocate(8);
+            while (fixed.hasRemaining()) {
+                if (channel.read(fixed) < 0) break;
+            }
+            if (fixed.position() < 8 || fixed.get(0) != 'S' || fixed.get(1) != 'P'
+                    || fixed.get(2) != 'D' || fixed.get(3) != 'B' || fixed.get(4) != VERSION) {
+                throw new IOException("Not a sliding puzzle pattern database: " + file);
+            }
+            int rows = fixed.get(5), cols = fixed.get(6);
+            int[][] groups = new int[fixed.get(7)][];
+            long total = 0;
+            for (int g = 0; g < groups.length; g++) {
+                ByteBuffer one = ByteBuffer.allocate(1);
+                channel.read(one);
+                groups[g] = new int[one.get(0)];
+                ByteBuffer tiles = ByteBuffer.allocate(groups[g].length);
+                while (tiles.hasRemaining()) {
+                    if (channel.read(tiles) < 0) throw new IOException("Truncated pattern database: " + file);
+                }
+                for (int i = 0; i < groups[g].length; i++) groups[g][i] = tiles.get(i);
+                total += (placements(rows * cols, groups[g].length) + 1) / 2;
+            }
+            int header = headerSize(groups);
+            if (channel.size() != header + total) {
+                throw new IOException("Truncated pattern database: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            ByteBuffer tables = channel.map(FileChannel.MapMode.READ_ONLY, header, total);
+            return new SlidingPuzzlePatternDatabase(rows, cols, groups, tables);
+        }
+    }
+
+    private static int headerSize(int[][] groups) {
+        int size = 8;
+        for (int[] group : groups) size += 1 + group.length;
+        return size;
+    }
+
+    // ---------- Queries ----------
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getGroupCount() {
+        return groups.length;
+    }
+
+    int[] getGroup(int g) {
+        return groups[g];
+    }
+
+    int groupOf(int tile) {
+        return groupOf[tile];
+    }
+
+    /**
+     * @return the stored (moves - Manhattan) / 2 of group g, given the cell of every tile
+     */
+    int extra(int g, int[] cellOf) {
+        int[] group = groups[g];
+        int n = rows * cols;
+        long r = 0;
+        int used = 0;
+        for (int i = 0; i < group.length; i++) {
+            int c = cellOf[group[i]];
+            r = r * (n - i) + c - Integer.bitCount(used & ((1 << c) - 1));
+            used |= 1 << c;
+        }
+        int b = tables.get(offsets[g] + (int) (r >>> 1));
+        return (b >>> ((r & 1) << 2)) & 15;
+    }
+
+    /**
+     * @return lower bound on the moves to solve a position (cells row by row, 0 = blank)
+     */
+    public int estimate(byte[] cells) {
+        int size = rows * cols;
+        int[] cellOf = new int[size];
+        int h = 0;
+        for (int cell = 0; cell < size; cell++) {
+            int tile = cells[cell];
+            cellOf[tile] = cell;
+            if (tile != 0) h += manhattan[tile * size + cell];
+        }
+        for (int g = 0; g < groups.length; g++) h += 2 * extra(g, cellOf);
+        return h;
+    }
+
+    /**
+     * @return bytes held by the nibble tables
+     */
+    public long getTableBytes() {
+        return tables.capacity();
+    }
+
+    // ---------- Command line ----------
+
+    /**
+     * Entry point for "java Main build-pdb [rows] [cols]": build and cache the default tables.
+     */
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : rows;
+        Path file = defaultFile(rows, cols);
+        long start = System.nanoTime();
+        Files.createDirectories(file.getParent());
+        build(rows, cols, defaultGroups(rows, cols)).save(file);
+        System.out.println("Built " + rows + "x" + cols + " pattern database in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms: " + file + " (" + Files.size(file) + " bytes)");
+    }
+}
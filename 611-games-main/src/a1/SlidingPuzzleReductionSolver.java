@@ -0,0 +1,381 @@
+package a1;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Near-optimal solver for sliding puzzles of any size (100x100 included),
+ * by reduction: solve the top row, then the next, until three rows are left;
+ * then solve the left column of what remains, then the next, until the last
+ * region is at most 3x3, which is finished optimally from the distance table.
+ *
+ * Tiles of a line are placed one at a time and locked. The last two tiles of
+ * a line cannot be placed directly, so the first is parked in the corner, the
+ * second next to it, and both rotate in together. If the second tile is left
+ * in (or blocking) the dead end beside the parked one, it is moved away and
+ * the first one is parked again. A tile is moved along a
+ * shortest path of free cells; for each step the blank is routed round the
+ * tile to the next cell. When the tile itself is in the blank's way (a blank
+ * trapped in a dead end next to it), a small search over (tile, blank)
+ * positions around the tile gets it out.
+ *
+ * Moves are produced lazily, one placed tile at a time, by an iterator of tile
+ * numbers to slide. Working memory is a few arrays of rows * cols entries, and
+ * the total time is polynomial (every search is limited to a box around the
+ * cells involved when possible).
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleReductionSolver {
+    private static final int FINAL_SIZE = 3;   // the last region is at most 3x3
+    private static final int MAX_WINDOW = 4;   // radius of the (tile, blank) search
+    private static final int MARGIN = 1;       // cells around the search box
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+
+    public SlidingPuzzleReductionSolver(int rows, int cols) {
+        if (rows < 2 || cols < 2) {
+            throw new IllegalArgumentException("Puzzle must be at least 2x2");
+        }
+        if ((long) rows * cols > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Board too large: at most " + Short.MAX_VALUE + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+    }
+
+    /**
+     * @return the tile numbers to slide, in order, computed as they are read
+     */
+    public PrimitiveIterator.OfInt solve(SlidingPuzzleBoard board) {
+        return solve(board.copyCells());
+    }
+
+    /**
+     * @param cells the position row by row (0 = blank); not modified
+     * @return the tile numbers to slide, in order, computed as they are read
+     */
+    public PrimitiveIterator.OfInt solve(short[] cells) {
+        if (cells.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " cells, got " + cells.length);
+        }
+        if (!Randomizer.isSolvable(cells, rows, cols)) {
+            throw new IllegalArgumentException("Position is not solvable");
+        }
+        return new Run(cells.clone());
+    }
+
+    // One solve in progress: the working position and the moves not yet read.
+    private class Run implements PrimitiveIterator.OfInt {
+        private final short[] cells;
+        private final int[] cellOf;
+        private final boolean[] locked;
+        private final int[] queue;
+        private final int[] prev;
+        private final int[] seen;       // BFS stamp per cell
+        private final int[] tilePath;
+        private final int[] blankPath;
+        private int stamp;
+        private int[] out = new int[64];
+        private int head;
+        private int tail;
+        private int top;                // first unsolved row
+        private int left;               // first unsolved column
+        private int index;              // tiles placed in the current line
+        private boolean finished;
+
+        Run(short[] cells) {
+            this.cells = cells;
+            this.cellOf = new int[size];
+            for (int cell = 0; cell < size; cell++) cellOf[cells[cell]] = cell;
+            this.locked = new boolean[size];
+            this.queue = new int[size];
+            this.prev = new int[size];
+            this.seen = new int[size];
+            this.tilePath = new int[size];
+            this.blankPath = new int[size];
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (head == tail && !finished) {
+                head = tail = 0;
+                advance();
+            }
+            return head < tail;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return out[head++];
+        }
+
+        // ---------- Lines ----------
+
+        // Place the next tile (or pair of tiles) of the current line.
+        private void advance() {
+            if (rows - top > FINAL_SIZE) {
+                int width = cols - left;
+                if (index < width - 2) {
+                    int cell = top * cols + left + index++;
+                    place(cell + 1, cell);
+                    locked[cell] = true;
+                } else {
+                    int a = top * cols + cols - 2, b = a + 1;
+                    placePair(a, b, b + cols, b + 2 * cols);
+                    index = 0;
+                    top++;
+                }
+            } else if (cols - left > FINAL_SIZE) {
+                int height = rows - top;
+                if (index < height - 2) {
+                    int cell = (top + index++) * cols + left;
+                    place(cell + 1, cell);
+                    locked[cell] = true;
+                } else {
+                    int a = (rows - 2) * cols + left, b = a + cols;
+                    placePair(a, b, b + 1, b + 2);
+                    index = 0;
+                    left++;
+                }
+            } else {
+                finish();
+                finished = true;
+            }
+        }
+
+        // The last two cells a, b of a line: park a's tile on b and b's tile on "stage", then rotate them in.
+        // "away" is a free cell two steps from b, used to get b's tile out of the dead end at a.
+        private void placePair(int a, int b, int stage, int away) {
+            int x = a + 1, y = b + 1;
+            if (cellOf[x] != a || cellOf[y] != b) {
+                for (int attempt = 0; ; attempt++) {
+                    place(x, b);
+                    locked[b] = true;
+                    // With x parked, a is a dead end: y can never come out of it, nor pass
+                    // its one exit while the blank is inside
+                    int cell = cellOf[y];
+                    boolean exit = cellOf[0] == a
+                            && Math.abs(cell / cols - a / cols) + Math.abs(cell % cols - a % cols) == 1;
+                    if (cell != a && !exit) break;
+                    if (attempt == MAX_ATTEMPTS) {
+                        throw new IllegalStateException("Tile " + y + " stays trapped at cell " + a);
+                    }
+                    locked[b] = false;
+                    place(y, away);
+                }
+                place(y, stage);
+                locked[stage] = true;
+                if (!routeBlank(a, -1)) {
+                    throw new IllegalStateException("Blank cannot reach cell " + a);
+                }
+                slideFrom(b);      // x moves into a
+                slideFrom(stage);  // y moves into b
+                locked[stage] = false;
+            }
+            locked[a] = true;
+            locked[b] = true;
+        }
+
+        // Solve the last region (at most 3x3) optimally as a small puzzle of its own.
+        private void finish() {
+            int h = rows - top, w = cols - left;
+            short[] small = new short[h * w];
+            for (int r = 0; r < h; r++) {
+                for (int c = 0; c < w; c++) {
+                    int tile = cells[(top + r) * cols + left + c];
+                    if (tile != 0) {
+                        int goal = tile - 1;
+                        tile = (goal / cols - top) * w + goal % cols - left + 1;
+                    }
+                    small[r * w + c] = (short) tile;
+                }
+            }
+            SlidingPuzzleDistanceTable table = SlidingPuzzleDistanceTable.forSize(h, w);
+            SlidingPuzzleBoard board = new SlidingPuzzleBoard(h, w);
+            board.setCells(small);
+            while (!board.isGameOver()) {
+                int tile = table.bestMove(board);
+                board.slide(tile);
+                int goal = tile - 1;
+                slideFrom(cellOf[(top + goal / w) * cols + left + goal % w + 1]);
+            }
+        }
+
+        // ---------- Moving tiles ----------
+
+        // Move a tile to a cell along a shortest path of unlocked cells.
+        private void place(int tile, int target) {
+            int length = search(cellOf[tile], target, -1, tilePath);
+            if (length < 0) {
+                throw new IllegalStateException("Tile " + tile + " cannot reach cell " + target);
+            }
+            for (int i = 0; i < length; i++) {
+                int from = cellOf[tile];
+                int step = tilePath[i];
+                if (routeBlank(step, from)) {
+                    slideFrom(from);
+                } else {
+                    jointMove(tile, step);
+                }
+            }
+        }
+
+        // Walk the blank to a cell without passing through "avoid"; false if it cannot get there.
+        private boolean routeBlank(int target, int avoid) {
+            int length = search(cellOf[0], target, avoid, blankPath);
+            if (length < 0) return false;
+            for (int i = 0; i < length; i++) {
+                slideFrom(blankPath[i]);
+            }
+            return true;
+        }
+
+        // Search (tile cell, blank cell) pairs in a window round the tile until the tile stands on "step".
+        private void jointMove(int tile, int step) {
+            for (int radius = 2; radius <= MAX_WINDOW; radius++) {
+                int r0 = Math.max(0, cellOf[tile] / cols - radius), r1 = Math.min(rows - 1, cellOf[tile] / cols + radius);
+                int c0 = Math.max(0, cellOf[tile] % cols - radius), c1 = Math.min(cols - 1, cellOf[tile] % cols + radius);
+                int w = c1 - c0 + 1, n = (r1 - r0 + 1) * w;
+                int blankRow = cellOf[0] / cols, blankCol = cellOf[0] % cols;
+                if (blankRow < r0 || blankRow > r1 || blankCol < c0 || blankCol > c1) continue;
+
+                // Local cell = (row - r0) * w + (col - c0); state = tile * n + blank
+                int[] from = new int[n * n];
+                Arrays.fill(from, -1);
+                int[] states = new int[n * n];
+                int start = local(cellOf[tile], r0, c0, w) * n + local(cellOf[0], r0, c0, w);
+                int goal = local(step, r0, c0, w);
+                from[start] = start;
+                states[0] = start;
+                int found = -1;
+                for (int qh = 0, qt = 1; qh < qt && found < 0; qh++) {
+                    int state = states[qh];
+                    int t = state / n, b = state % n;
+                    int br = b / w, bc = b % w;
+                    for (int d = 0; d < 4; d++) {
+                        int nr = br + (d == 0 ? -1 : d == 1 ? 1 : 0), nc = bc + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                        if (nr < 0 || nr > r1 - r0 || nc < 0 || nc >= w) continue;
+                        if (locked[(r0 + nr) * cols + c0 + nc]) continue;
+                        int nb = nr * w + nc;
+                        int next = (nb == t ? b : t) * n + nb;
+                        if (from[next] >= 0) continue;
+                        from[next] = state;
+                        states[qt++] = next;
+                        if (next / n == goal) {
+                            found = next;
+                            break;
+                        }
+                    }
+                }
+                if (found < 0) continue;
+
+                // Replay the blank's cells from the start state
+                int length = 0;
+                for (int s = found; s != start; s = from[s]) length++;
+                int[] walk = new int[length];
+                for (int s = found, i = length - 1; s != start; s = from[s], i--) {
+                    int b = s % n;
+                    walk[i] = (r0 + b / w) * cols + c0 + b % w;
+                }
+                for (int cell : walk) slideFrom(cell);
+                return;
+            }
+            throw new IllegalStateException("Tile " + tile + " cannot reach cell " + step);
+        }
+
+        private int local(int cell, int r0, int c0, int w) {
+            return (cell / cols - r0) * w + cell % cols - c0;
+        }
+
+        // Slide the tile on a cell next to the blank into it.
+        private void slideFrom(int cell) {
+            int blank = cellOf[0];
+            int tile = cells[cell];
+            cells[blank] = (short) tile;
+            cellOf[tile] = blank;
+            cells[cell] = 0;
+            cellOf[0] = cell;
+            if (tail == out.length) out = Arrays.copyOf(out, out.length * 2);
+            out[tail++] = tile;
+        }
+
+        // ---------- Paths ----------
+
+        /**
+         * Breadth-first search over unlocked cells other than "avoid", first in a
+         * box round both ends, then over the whole board.
+         * @return the path length (cells after "from", ending with "to") in path, or -1
+         */
+        private int search(int from, int to, int avoid, int[] path) {
+            if (from == to) return 0;
+            int length = search(from, to, avoid, path, MARGIN);
+            return length >= 0 ? length : search(from, to, avoid, path, Math.max(rows, cols));
+        }
+
+        private int search(int from, int to, int avoid, int[] path, int margin) {
+            int r0 = Math.max(0, Math.min(from / cols, to / cols) - margin);
+            int r1 = Math.min(rows - 1, Math.max(from / cols, to / cols) + margin);
+            int c0 = Math.max(0, Math.min(from % cols, to % cols) - margin);
+            int c1 = Math.min(cols - 1, Math.max(from % cols, to % cols) + margin);
+            stamp++;
+            seen[from] = stamp;
+            queue[0] = from;
+            for (int qh = 0, qt = 1; qh < qt; qh++) {
+                int cell = queue[qh];
+                int r = cell / cols, c = cell % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + (d == 0 ? -1 : d == 1 ? 1 : 0), nc = c + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                    if (nr < r0 || nr > r1 || nc < c0 || nc > c1) continue;
+                    int next = nr * cols + nc;
+                    if (seen[next] == stamp || locked[next] || next == avoid) continue;
+                    seen[next] = stamp;
+                    prev[next] = cell;
+                    if (next == to) {
+                        int length = 0;
+                        for (int p = to; p != from; p = prev[p]) length++;
+                        for (int p = to, i = length - 1; p != from; p = prev[p], i--) path[i] = p;
+                        return length;
+                    }
+                    queue[qt++] = next;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // ---------- Command line ----------
+
+    /**
+     * Entry point for "java Main solve-large [rows] [cols] [seed]": solve a
+     * uniformly random puzzle and report the moves and the time taken.
+     */
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : rows;
+        Randomizer randomizer = args.length > 2 ? new Randomizer(Long.parseLong(args[2])) : new Randomizer();
+        SlidingPuzzleBoard board = new SlidingPuzzleBoard(rows, cols);
+        randomizer.shuffleUniform(board);
+
+        long start = System.nanoTime();
+        long moves = 0;
+        PrimitiveIterator.OfInt solution = new SlidingPuzzleReductionSolver(rows, cols).solve(board);
+        while (solution.hasNext()) {
+            int tile = solution.nextInt();
+            if (!board.slide(tile)) {
+                throw new IllegalStateException("Solver produced an illegal move: " + tile);
+            }
+            moves++;
+        }
+        long ms = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Solved " + rows + "x" + cols + " in " + moves + " moves, " + ms + " ms"
+                + (board.isGameOver() ? "" : " (NOT SOLVED)"));
+    }
+}
@@ -0,0 +1,315 @@
+package a1;
+
+/**
+ * Optimal solver for the sliding puzzle (IDA*).
+ *
+ * The position is a primitive byte[] holding the tile at every cell
+ * (0 = blank), searched in place: a move swaps two bytes and is undone on the
+ * way back, so the search allocates nothing per node.
+ *
+ * The heuristic is Manhattan distance plus linear conflict, both updated
+ * incrementally. A move changes the Manhattan distance of one tile only, and
+ * it can change the conflicts of at most one row or column (the goal line of
+ * the moved tile, if the tile enters or leaves it). A line's conflict is
+ * 2 * (tiles in their goal line - longest increasing run of their goal
+ * positions), the smallest number of tiles that must step out of the line.
+ *
+ * With a SlidingPuzzlePatternDatabase set, the heuristic is the additive
+ * pattern database instead: Manhattan distance plus twice the stored extra
+ * of every group, where a move re-ranks only the moved tile's group.
+ *
+ * Random 4x4 positions are solved well under a second only with the pattern
+ * database ("java Main build-pdb 4 4"): about 50 ms on average. With linear
+ * conflict alone they take a second or more on average and tens of seconds
+ * at worst, past the game's hint time limit.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SlidingPuzzleSolver {
+    public static final long DEFAULT_TIME_MS = 2000;
+    public static final int MAX_CELLS = 128;            // tiles are stored in bytes
+    private static final int CHECK_INTERVAL = 1 << 16;  // nodes between clock checks
+    private static final int FOUND = -1;
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final int[] manhattan;     // [tile * size + cell]
+    private final int[] goalRow;       // by tile
+    private final int[] goalCol;
+    private final int[][] neighbours;  // cells next to each cell
+
+    // Search state, reused between solves
+    private final byte[] tiles;
+    private final int[] rowConflicts;
+    private final int[] colConflicts;
+    private final int[] tails;         // scratch for the longest-increasing-run computation
+    private final int[] cellOf;        // cell of every tile (pattern database mode)
+    private int[] groupExtras;         // current pattern database extra per group
+    private SlidingPuzzlePatternDatabase pdb;
+    private int[] path = new int[256];
+    private int blank;
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+
+    public SlidingPuzzleSolver(int rows, int cols) {
+        if (rows < 2 || cols < 2) {
+            throw new IllegalArgumentException("Puzzle must be at least 2x2");
+        }
+        if (rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Solver supports at most " + MAX_CELLS + " cells");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        this.tiles = new byte[size];
+        this.rowConflicts = new int[rows];
+        this.colConflicts = new int[cols];
+        this.tails = new int[Math.max(rows, cols)];
+        this.cellOf = new int[size];
+
+        goalRow = new int[size];
+        goalCol = new int[size];
+        for (int t = 1; t < size; t++) {
+            goalRow[t] = (t - 1) / cols;
+            goalCol[t] = (t - 1) % cols;
+        }
+        manhattan = SlidingPuzzlePatternDatabase.manhattanTable(rows, cols);
+        neighbours = SlidingPuzzlePatternDatabase.neighbours(rows, cols);
+    }
+
+    /**
+     * Use additive pattern database tables instead of Manhattan plus linear conflict
+     * (null to switch back).
+     */
+    public void setPatternDatabase(SlidingPuzzlePatternDatabase pdb) {
+        if (pdb != null && (pdb.getRows() != rows || pdb.getCols() != cols)) {
+            throw new IllegalArgumentException("Pattern database is for " + pdb.getRows() + "x" + pdb.getCols());
+        }
+        this.pdb = pdb;
+    }
+
+    /**
+     * Copy the tile numbers off a board, row by row (0 = blank).
+     */
+    public static byte[] snapshot(SlidingPuzzleBoard board) {
+        int rows = board.getRows(), cols = board.getCols();
+        byte[] cells = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                cells[r * cols + c] = (byte) board.getValue(r, c);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @return true if the position can reach the goal (blank in the last cell)
+     */
+    public static boolean isSolvable(byte[] cells, int rows, int cols) {
+        int inversions = 0;
+        int blankRow = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == 0) {
+                blankRow = i / cols;
+                continue;
+            }
+            for (int j = i + 1; j < cells.length; j++) {
+                if (cells[j] != 0 && cells[j] < cells[i]) inversions++;
+            }
+        }
+        // Odd width: a vertical move shifts a tile past an even number of others.
+        // Even width: each row the blank moves flips the inversion parity.
+        if ((cols & 1) == 1) return (inversions & 1) == 0;
+        return ((inversions + rows - 1 - blankRow) & 1) == 0;
+    }
+
+    /**
+     * Find a shortest solution for the board's current position.
+     * @return tile numbers to slide, in order, or null if the time ran out
+     */
+    public int[] solve(SlidingPuzzleBoard board, long timeMs) {
+        return solve(snapshot(board), timeMs);
+    }
+
+    /**
+     * Find a shortest solution. The array is not modified.
+     * @return tile numbers to slide, in order, or null if the time ran out
+     */
+    public int[] solve(byte[] cells, long timeMs) {
+        if (cells.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " cells, got " + cells.length);
+        }
+        if (!isSolvable(cells, rows, cols)) {
+            throw new IllegalArgumentException("Position is not solvable");
+        }
+        System.arraycopy(cells, 0, tiles, 0, size);
+        for (int i = 0; i < size; i++) {
+            if (tiles[i] == 0) blank = i;
+        }
+        int h = estimate();
+
+        nodes = 0;
+        stopped = false;
+        deadline = System.nanoTime() + Math.max(1, timeMs) * 1_000_000L;
+        int bound = h;
+        while (true) {
+            if (path.length <= bound) path = new int[bound * 2];
+            int t = search(0, bound, h, -1);
+            if (t == FOUND) {
+                int[] solution = new int[bound];
+                System.arraycopy(path, 0, solution, 0, bound);
+                return solution;
+            }
+            if (stopped || t == INFINITY) return null;
+            bound = t;
+        }
+    }
+
+    /**
+     * @return the heuristic (a lower bound on the moves left) of a position
+     */
+    public int estimate(byte[] cells) {
+        System.arraycopy(cells, 0, tiles, 0, size);
+        return estimate();
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // ---------- Search ----------
+
+    // Depth-first search below the bound; returns FOUND or the smallest f that exceeded it.
+    private int search(int g, int bound, int h, int previous) {
+        int f = g + h;
+        if (f > bound) return f;
+        if (h == 0) return FOUND;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) return INFINITY;
+
+        int from = blank;
+        int min = INFINITY;
+        for (int to : neighbours[from]) {
+            if (to == previous) continue;  // never undo the last move
+            int tile = tiles[to];
+
+            // The tile slides from "to" into the blank at "from"
+            tiles[from] = (byte) tile;
+            tiles[to] = 0;
+            blank = to;
+            int delta = manhattan[tile * size + from] - manhattan[tile * size + to];
+            int conflictRow = -1, conflictCol = -1, saved = 0;
+            if (pdb != null) {
+                cellOf[tile] = from;
+                int group = pdb.groupOf(tile);
+                saved = groupExtras[group];
+                groupExtras[group] = pdb.extra(group, cellOf);
+                delta += 2 * (groupExtras[group] - saved);
+            } else if (from / cols == to / cols) {
+                int gc = goalCol[tile];
+                if (gc == to % cols || gc == from % cols) {
+                    conflictCol = gc;
+                    saved = colConflicts[gc];
+                    colConflicts[gc] = colConflict(gc);
+                    delta += colConflicts[gc] - saved;
+                }
+            } else {
+                int gr = goalRow[tile];
+                if (gr == to / cols || gr == from / cols) {
+                    conflictRow = gr;
+                    saved = rowConflicts[gr];
+                    rowConflicts[gr] = rowConflict(gr);
+                    delta += rowConflicts[gr] - saved;
+                }
+            }
+            path[g] = tile;
+
+            int t = search(g + 1, bound, h + delta, from);
+
+            // Undo
+            if (pdb != null) {
+                cellOf[tile] = to;
+                groupExtras[pdb.groupOf(tile)] = saved;
+            }
+            if (conflictCol >= 0) colConflicts[conflictCol] = saved;
+            if (conflictRow >= 0) rowConflicts[conflictRow] = saved;
+            tiles[to] = (byte) tile;
+            tiles[from] = 0;
+            blank = from;
+
+            if (t == FOUND) return FOUND;
+            if (t < min) min = t;
+        }
+        return min;
+    }
+
+    // ---------- Heuristic ----------
+
+    private int estimate() {
+        int h = 0;
+        for (int cell = 0; cell < size; cell++) {
+            int tile = tiles[cell];
+            if (tile != 0) h += manhattan[tile * size + cell];
+            cellOf[tile] = cell;
+        }
+        if (pdb != null) {
+            if (groupExtras == null || groupExtras.length != pdb.getGroupCount()) {
+                groupExtras = new int[pdb.getGroupCount()];
+            }
+            for (int g = 0; g < groupExtras.length; g++) {
+                groupExtras[g] = pdb.extra(g, cellOf);
+                h += 2 * groupExtras[g];
+            }
+            return h;
+        }
+        for (int r = 0; r < rows; r++) {
+            rowConflicts[r] = rowConflict(r);
+            h += rowConflicts[r];
+        }
+        for (int c = 0; c < cols; c++) {
+            colConflicts[c] = colConflict(c);
+            h += colConflicts[c];
+        }
+        return h;
+    }
+
+    private int rowConflict(int r) {
+        int count = 0, run = 0;
+        for (int c = 0; c < cols; c++) {
+            int tile = tiles[r * cols + c];
+            if (tile == 0 || goalRow[tile] != r) continue;
+            count++;
+            run = extendRun(run, goalCol[tile]);
+        }
+        return 2 * (count - run);
+    }
+
+    private int colConflict(int c) {
+        int count = 0, run = 0;
+        for (int r = 0; r < rows; r++) {
+            int tile = tiles[r * cols + c];
+            if (tile == 0 || goalCol[tile] != c) continue;
+            count++;
+            run = extendRun(run, goalRow[tile]);
+        }
+        return 2 * (count - run);
+    }
+
+    // Patience sorting step: tails[i] = smallest end of an increasing run of length i + 1.
+    private int extendRun(int length, int value) {
+        int lo = 0, hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tails[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        tails[lo] = value;
+        return lo == length ? length + 1 : length;
+    }
+}
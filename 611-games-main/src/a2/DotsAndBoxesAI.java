@@ -0,0 +1,216 @@
+package a2;
+
+/**
+ * Computer opponent for Dots and Boxes.
+ *
+ * Iterative-deepening alpha-beta (negamax) over a bit-packed
+ * DotsAndBoxesPosition. Scores are the box margin, from the side to move's
+ * point of view, of the boxes that are still open. With Rules.extraTurnOnBox
+ * a completing move keeps the same player on move, so that child is added
+ * instead of negated, and it does not use up a ply of depth.
+ *
+ * Moves are tried capture first, then "safe" edges (no 3-sided box handed
+ * over), then the rest. A transposition table keyed by the edge set stores
+ * bounds and the best edge; positions depend only on which edges are drawn,
+ * not on who owns the boxes, so transpositions are very common.
+ * Leaves that are already chain/loop endgames are scored by DotsAndBoxesChains.
+ * The table is keyed by the canonical (symmetry-reduced) edge set, and its
+ * best edge is stored in that canonical orientation.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesAI {
+    public static final long DEFAULT_TIME_MS = 1000;
+    private static final int CHECK_INTERVAL = 1024;  // nodes between clock checks
+
+    private static final int TT_BITS = 20;
+    private static final int TT_MASK = (1 << TT_BITS) - 1;
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+
+    private final boolean extraTurnOnBox;
+    private final DotsAndBoxesChains chains = new DotsAndBoxesChains();
+    private final long[] ttKeys = new long[1 << TT_BITS];
+    private final long[] ttData = new long[1 << TT_BITS];
+
+    private int[][] moveLists = new int[0][];  // per ply, reused between searches
+    private long nodes;
+    private long deadline;
+    private boolean stopped;
+    private int rootBest;
+    private int lastScore;
+    private int lastDepth;
+
+    public DotsAndBoxesAI(Rules rules) {
+        this.extraTurnOnBox = rules.extraTurnOnBox;
+    }
+
+    /**
+     * Pick an edge for the player to move on the given board.
+     */
+    public DotsAndBoxesMove chooseMove(DotsAndBoxesGrid board, long timeMs) {
+        DotsAndBoxesPosition pos = DotsAndBoxesPosition.of(board);
+        int edge = chooseEdge(pos, timeMs);
+        return edge < 0 ? null : pos.getLayout().toMove(edge);
+    }
+
+    /**
+     * Search until the position is solved or the time runs out.
+     * The position is left exactly as it was passed in.
+     * @return the chosen edge index, or -1 if every edge is drawn
+     */
+    public int chooseEdge(DotsAndBoxesPosition pos, long timeMs) {
+        DotsAndBoxesLayout layout = pos.getLayout();
+        if (pos.isFull()) return -1;
+        if (moveLists.length <= layout.edgeCount) {
+            moveLists = new int[layout.edgeCount + 1][layout.edgeCount];
+        }
+
+        nodes = 0;
+        stopped = false;
+        deadline = System.nanoTime() + Math.max(1, timeMs) * 1_000_000L;
+        // Boards too big to search out: once only chains and loops are left, theory decides
+        if (extraTurnOnBox && layout.edgeCount > DotsAndBoxesSolver.MAX_EDGES) {
+            DotsAndBoxesChains.Analysis endgame = chains.analyse(pos);
+            if (endgame != null && endgame.edge >= 0) {
+                lastScore = endgame.value;
+                lastDepth = 0;
+                return endgame.edge;
+            }
+        }
+
+        int remaining = layout.edgeCount - pos.getDrawnCount();
+        int best = firstFreeEdge(pos);
+
+        for (int depth = 1; depth <= remaining; depth++) {
+            int score = negamax(pos, depth, 0, -layout.boxCount - 1, layout.boxCount + 1);
+            if (stopped) break;
+            best = rootBest;
+            lastScore = score;
+            lastDepth = depth;
+        }
+        return best;
+    }
+
+    private int negamax(DotsAndBoxesPosition pos, int depth, int ply, int alpha, int beta) {
+        if (pos.isFull()) return 0;
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        if (stopped) return 0;
+        if (depth <= 0) {
+            int endgame = extraTurnOnBox ? chains.value(pos) : Integer.MIN_VALUE;
+            return endgame != Integer.MIN_VALUE ? endgame : quiesce(pos);
+        }
+
+        long key = pos.canonicalKey();
+        int sym = pos.getCanonicalSymmetry();
+        DotsAndBoxesLayout layout = pos.getLayout();
+        int slot = (int) (key ^ (key >>> 32)) & TT_MASK;
+        int ttEdge = -1;
+        if (ttKeys[slot] == key) {
+            long data = ttData[slot];
+            int stored = (int) (data & 0xFFFF) - 1;
+            ttEdge = stored < 0 ? -1 : layout.inverses[sym][stored];
+            // The table outlives one search, so the root is always searched to get its move
+            if (ply > 0 && (int) (data >>> 18 & 0xFFFF) >= depth) {
+                int score = (short) (data >>> 34);
+                int bound = (int) (data >>> 16 & 3);
+                if (bound == EXACT || (bound == LOWER && score >= beta) || (bound == UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] moves = moveLists[ply];
+        int count = orderMoves(pos, moves, ttEdge);
+
+        int originalAlpha = alpha;
+        int best = Integer.MIN_VALUE;
+        int bestEdge = moves[0];
+        for (int i = 0; i < count; i++) {
+            int edge = moves[i];
+            int completed = pos.apply(edge);
+            int score;
+            if (completed > 0 && extraTurnOnBox) {
+                score = completed + negamax(pos, depth, ply + 1, alpha - completed, beta - completed);
+            } else {
+                score = completed - negamax(pos, depth - 1, ply + 1, completed - beta, completed - alpha);
+            }
+            pos.undo(edge);
+            if (stopped) return 0;
+
+            if (score > best) {
+                best = score;
+                bestEdge = edge;
+                if (ply == 0) rootBest = edge;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+
+        int bound = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        ttKeys[slot] = key;
+        ttData[slot] = ((long) (best & 0xFFFF) << 34) | ((long) depth << 18) | ((long) bound << 16)
+                | (layout.symmetries[sym][bestEdge] + 1);
+        return best;
+    }
+
+    // Horizon: the side to move may stop (score 0) or keep taking the boxes that are free
+    // right now. Captures are taken in edge order - trying every order would be factorial.
+    private int quiesce(DotsAndBoxesPosition pos) {
+        if (!extraTurnOnBox) return 0;
+        int edgeCount = pos.getLayout().edgeCount;
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (pos.isDrawn(edge) || pos.completions(edge) == 0) continue;
+            int completed = pos.apply(edge);
+            int score = completed + quiesce(pos);
+            pos.undo(edge);
+            return Math.max(0, score);
+        }
+        return 0;
+    }
+
+    /**
+     * Fill moves with the free edges: table move, captures, safe edges, then the rest.
+     * @return number of moves
+     */
+    private static int orderMoves(DotsAndBoxesPosition pos, int[] moves, int ttEdge) {
+        int edgeCount = pos.getLayout().edgeCount;
+        int n = 0;
+        if (ttEdge >= 0 && !pos.isDrawn(ttEdge)) moves[n++] = ttEdge;
+        for (int pass = 0; pass < 3; pass++) {
+            for (int edge = 0; edge < edgeCount; edge++) {
+                if (edge == ttEdge || pos.isDrawn(edge)) continue;
+                int kind = pos.completions(edge) > 0 ? 0 : pos.givesAway(edge) ? 2 : 1;
+                if (kind == pass) moves[n++] = edge;
+            }
+        }
+        return n;
+    }
+
+    private static int firstFreeEdge(DotsAndBoxesPosition pos) {
+        for (int edge = 0; edge < pos.getLayout().edgeCount; edge++) {
+            if (!pos.isDrawn(edge)) return edge;
+        }
+        return -1;
+    }
+
+    /**
+     * @return margin (for the side to move) found by the last completed iteration
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * @return depth of the last completed iteration
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -4,24 +4,54 @@ import common.Board;
 import common.Tile;
 import engine.TextUI;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Dots and Boxes board implementation.
  * Extends the common Board class to provide dots and boxes functionality.
  *
  * This board manages edges between dots and box ownership.
+ * Scores, the number of claimed boxes and the sides drawn around every box
+ * are kept up to date by applyEdge, so score and game-over checks are O(1).
+ * Every applyEdge is also logged (edge index, player, boxes completed), and
+ * undoEdge() reverses the last one in O(1), which gives the game takebacks.
+ *
+ * Two bitsets are maintained the same way: the 3-sided boxes (boxes that can
+ * be taken right now) and the "safe" edges (free edges whose boxes all have
+ * at most one side, so drawing them hands nothing over). Greedy play and
+ * hints read candidates from them instead of scanning the board.
+ * Rendering goes through a DotsAndBoxesRenderer that caches the text and
+ * only rebuilds the lines touched since the last frame.
  *
  * Author: Zhuojun Lyu and Priyanshu Singh
  * Date: 2025-10-25
  */
-public class DotsAndBoxesBoard extends Board {
+public class DotsAndBoxesBoard extends Board implements DotsAndBoxesGrid {
     private int[][] horizontalEdges;  // Horizontal edges between dots
     private int[][] verticalEdges;    // Vertical edges between dots
     private int[][] boxOwners;        // Who owns each box
 
+    // Incremental counters, updated by applyEdge
+    private final int[] scores = new int[3];  // boxes owned, indexed by player number
+    private int claimedBoxes;
+    private int threeSidedBoxes;              // boxes that can be completed right now
+    private final byte[] sides;               // edges drawn around box r * cols + c
+
+    // Move log, one entry per applied edge: edge index << 4 | player << 2 | boxes completed.
+    // Edge indices follow DotsAndBoxesLayout (horizontal edges first, then vertical).
+    private final int[] moveLog;
+    private int moveCount;
+
+    private final long[] threeSidedMask;  // bit per box with exactly 3 sides
+    private final long[] safeMask;        // bit per safe edge (layout numbering)
+    private int safeEdgeCount;
+
+    private final DotsAndBoxesRenderer renderer;
+
     // Edge states
     private static final int EMPTY = 0;
-    private static final int PLAYER1 = 1;
-    private static final int PLAYER2 = 2;
 
     /**
      * Create a new Dots and Boxes board.
@@ -33,15 +63,24 @@ public class DotsAndBoxesBoard extends Board {
         this.horizontalEdges = new int[rows + 1][cols];
         this.verticalEdges = new int[rows][cols + 1];
         this.boxOwners = new int[rows][cols];
+        this.sides = new byte[rows * cols];
+        this.moveLog = new int[(rows + 1) * cols + rows * (cols + 1)];
+        this.threeSidedMask = new long[(rows * cols + 63) >>> 6];
+        this.safeMask = new long[(moveLog.length + 63) >>> 6];
+        this.renderer = new DotsAndBoxesRenderer(rows, cols, horizontalEdges, verticalEdges, boxOwners);
         initializeBoard();
     }
 
     @Override
     protected void initializeBoard() {
-        // Initialize tiles (boxes) on the board
+        // Initialize tiles (boxes) on the board; on reset() the existing tiles are just cleared
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                grid[r][c] = new DotsAndBoxesTile(r, c);
+                if (grid[r][c] instanceof DotsAndBoxesTile) {
+                    ((DotsAndBoxesTile) grid[r][c]).setOwner(0);
+                } else {
+                    grid[r][c] = new DotsAndBoxesTile(r, c);
+                }
             }
         }
 
@@ -65,6 +104,21 @@ public class DotsAndBoxesBoard extends Board {
                 boxOwners[r][c] = EMPTY;
             }
         }
+
+        Arrays.fill(scores, 0);
+        Arrays.fill(sides, (byte) 0);
+        claimedBoxes = 0;
+        threeSidedBoxes = 0;
+        moveCount = 0;
+
+        // Empty board: nothing to take, every edge is safe
+        Arrays.fill(threeSidedMask, 0L);
+        Arrays.fill(safeMask, 0L);
+        for (int e = 0; e < moveLog.length; e++) {
+            safeMask[e >>> 6] |= 1L << e;
+        }
+        safeEdgeCount = moveLog.length;
+        renderer.invalidateAll();
     }
 
     /**
@@ -72,6 +126,7 @@ public class DotsAndBoxesBoard extends Board {
      * @param move The move to check
      * @return true if the edge is free
      */
+    @Override
     public boolean isEdgeFree(DotsAndBoxesMove move) {
         if (move.isHorizontal()) {
             if (move.getRow() < 0 || move.getRow() > rows ||
@@ -94,73 +149,265 @@ public class DotsAndBoxesBoard extends Board {
      * @param playerNumber The player number (1 or 2)
      * @return Number of boxes completed (0, 1, or 2)
      */
+    @Override
     public int applyEdge(DotsAndBoxesMove move, int playerNumber) {
         if (!isEdgeFree(move)) {
             return 0;
         }
 
+        int row = move.getRow();
+        int col = move.getCol();
         int boxesCompleted = 0;
 
         if (move.isHorizontal()) {
-            horizontalEdges[move.getRow()][move.getCol()] = playerNumber;
-
-            // Check box above this edge
-            if (move.getRow() > 0) {
-                if (isBoxComplete(move.getRow() - 1, move.getCol())) {
-                    boxOwners[move.getRow() - 1][move.getCol()] = playerNumber;
-                    DotsAndBoxesTile tile = (DotsAndBoxesTile) grid[move.getRow() - 1][move.getCol()];
-                    tile.setOwner(playerNumber);
-                    boxesCompleted++;
-                }
-            }
+            horizontalEdges[row][col] = playerNumber;
+            if (row > 0) boxesCompleted += addSide(row - 1, col, playerNumber);     // box above
+            if (row < rows) boxesCompleted += addSide(row, col, playerNumber);      // box below
+        } else {
+            verticalEdges[row][col] = playerNumber;
+            if (col > 0) boxesCompleted += addSide(row, col - 1, playerNumber);     // box to the left
+            if (col < cols) boxesCompleted += addSide(row, col, playerNumber);      // box to the right
+        }
 
-            // Check box below this edge
-            if (move.getRow() < rows) {
-                if (isBoxComplete(move.getRow(), move.getCol())) {
-                    boxOwners[move.getRow()][move.getCol()] = playerNumber;
-                    DotsAndBoxesTile tile = (DotsAndBoxesTile) grid[move.getRow()][move.getCol()];
-                    tile.setOwner(playerNumber);
-                    boxesCompleted++;
-                }
-            }
+        moveLog[moveCount++] = edgeIndex(move) << 4 | playerNumber << 2 | boxesCompleted;
+        renderer.edgeChanged(row, col, move.isHorizontal());
+        return boxesCompleted;
+    }
+
+    /**
+     * Take back the last applied edge: the edge itself, any boxes it completed
+     * (owner, tile and score) and the side counters.
+     * @return the move that was taken back, or null if no edge has been drawn
+     */
+    public DotsAndBoxesMove undoEdge() {
+        if (moveCount == 0) {
+            return null;
+        }
+        int entry = moveLog[--moveCount];
+        int playerNumber = (entry >>> 2) & 3;
+        DotsAndBoxesMove move = toMove(entry >>> 4);
+        int row = move.getRow();
+        int col = move.getCol();
+
+        if (move.isHorizontal()) {
+            horizontalEdges[row][col] = EMPTY;
+            if (row > 0) removeSide(row - 1, col, playerNumber);
+            if (row < rows) removeSide(row, col, playerNumber);
         } else {
-            verticalEdges[move.getRow()][move.getCol()] = playerNumber;
-
-            // Check box to the left of this edge
-            if (move.getCol() > 0) {
-                if (isBoxComplete(move.getRow(), move.getCol() - 1)) {
-                    boxOwners[move.getRow()][move.getCol() - 1] = playerNumber;
-                    DotsAndBoxesTile tile = (DotsAndBoxesTile) grid[move.getRow()][move.getCol() - 1];
-                    tile.setOwner(playerNumber);
-                    boxesCompleted++;
-                }
+            verticalEdges[row][col] = EMPTY;
+            if (col > 0) removeSide(row, col - 1, playerNumber);
+            if (col < cols) removeSide(row, col, playerNumber);
+        }
+        renderer.edgeChanged(row, col, move.isHorizontal());
+        return move;
+    }
+
+    // Exact inverse of addSide: a box at 4 sides was owned by the player who drew this edge.
+    private void removeSide(int row, int col, int playerNumber) {
+        int box = row * cols + col;
+        int count = sides[box]--;
+        refreshSafety(row, col);
+        if (count == 3) {
+            threeSidedBoxes--;
+            threeSidedMask[box >>> 6] &= ~(1L << box);
+        } else if (count == 4) {
+            threeSidedBoxes++;
+            threeSidedMask[box >>> 6] |= 1L << box;
+            boxOwners[row][col] = EMPTY;
+            ((DotsAndBoxesTile) grid[row][col]).setOwner(EMPTY);
+            scores[playerNumber]--;
+            claimedBoxes--;
+        }
+    }
+
+    // ---------- Capturable boxes and safe edges ----------
+
+    // Re-check the four edges around a box after its side count changed.
+    private void refreshSafety(int row, int col) {
+        refreshSafe(row, col, true);
+        refreshSafe(row + 1, col, true);
+        refreshSafe(row, col, false);
+        refreshSafe(row, col + 1, false);
+    }
+
+    // An edge is safe when it is free and no box next to it already has 2 sides.
+    private void refreshSafe(int row, int col, boolean horizontal) {
+        int edge;
+        boolean safe;
+        if (horizontal) {
+            edge = row * cols + col;
+            safe = horizontalEdges[row][col] == EMPTY
+                    && (row == 0 || sides[(row - 1) * cols + col] < 2)
+                    && (row == rows || sides[row * cols + col] < 2);
+        } else {
+            edge = (rows + 1) * cols + row * (cols + 1) + col;
+            safe = verticalEdges[row][col] == EMPTY
+                    && (col == 0 || sides[row * cols + col - 1] < 2)
+                    && (col == cols || sides[row * cols + col] < 2);
+        }
+        long bit = 1L << edge;
+        boolean wasSafe = (safeMask[edge >>> 6] & bit) != 0;
+        if (safe != wasSafe) {
+            safeMask[edge >>> 6] ^= bit;
+            safeEdgeCount += safe ? 1 : -1;
+        }
+    }
+
+    /**
+     * @return an edge that completes a box right now (layout numbering), or -1 if there is none
+     */
+    public int getCapturingEdge() {
+        for (int w = 0; w < threeSidedMask.length; w++) {
+            if (threeSidedMask[w] == 0) continue;
+            int box = (w << 6) + Long.numberOfTrailingZeros(threeSidedMask[w]);
+            int row = box / cols;
+            int col = box % cols;
+            if (horizontalEdges[row][col] == EMPTY) return row * cols + col;
+            if (horizontalEdges[row + 1][col] == EMPTY) return (row + 1) * cols + col;
+            int vertical = (rows + 1) * cols + row * (cols + 1) + col;
+            return verticalEdges[row][col] == EMPTY ? vertical : vertical + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return a move that completes a box right now, or null if there is none
+     */
+    public DotsAndBoxesMove getCapturingMove() {
+        int edge = getCapturingEdge();
+        return edge < 0 ? null : toMove(edge);
+    }
+
+    /**
+     * @return number of free edges that do not hand a box to the opponent
+     */
+    public int getSafeEdgeCount() {
+        return safeEdgeCount;
+    }
+
+    /**
+     * @return the k-th safe edge (0-based, layout numbering), e.g. for a uniform random pick
+     */
+    public int getSafeEdge(int k) {
+        for (int w = 0; w < safeMask.length; w++) {
+            long bits = safeMask[w];
+            int n = Long.bitCount(bits);
+            if (k >= n) {
+                k -= n;
+                continue;
+            }
+            for (; k > 0; k--) {
+                bits &= bits - 1;  // drop the lowest set bit
             }
+            return (w << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        throw new IllegalArgumentException("Only " + safeEdgeCount + " safe edges");
+    }
 
-            // Check box to the right of this edge
-            if (move.getCol() < cols) {
-                if (isBoxComplete(move.getRow(), move.getCol())) {
-                    boxOwners[move.getRow()][move.getCol()] = playerNumber;
-                    DotsAndBoxesTile tile = (DotsAndBoxesTile) grid[move.getRow()][move.getCol()];
-                    tile.setOwner(playerNumber);
-                    boxesCompleted++;
-                }
+    /**
+     * @return all safe moves, in layout order
+     */
+    public List<DotsAndBoxesMove> getSafeMoves() {
+        List<DotsAndBoxesMove> moves = new ArrayList<>(safeEdgeCount);
+        for (int w = 0; w < safeMask.length; w++) {
+            for (long bits = safeMask[w]; bits != 0; bits &= bits - 1) {
+                moves.add(toMove((w << 6) + Long.numberOfTrailingZeros(bits)));
             }
         }
+        return moves;
+    }
 
-        return boxesCompleted;
+    // ---------- Move log ----------
+
+    /**
+     * @return number of edges drawn so far (the length of the move log)
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return player who drew the i-th edge (0-based)
+     */
+    public int getMovePlayer(int i) {
+        return (moveLog[i] >>> 2) & 3;
+    }
+
+    /**
+     * @return boxes completed by the i-th edge (0-based)
+     */
+    public int getMoveBoxes(int i) {
+        return moveLog[i] & 3;
+    }
+
+    /**
+     * @return the i-th edge drawn (0-based)
+     */
+    public DotsAndBoxesMove getMove(int i) {
+        return toMove(moveLog[i] >>> 4);
+    }
+
+    private int edgeIndex(DotsAndBoxesMove move) {
+        if (move.isHorizontal()) {
+            return move.getRow() * cols + move.getCol();
+        }
+        return (rows + 1) * cols + move.getRow() * (cols + 1) + move.getCol();
+    }
+
+    /**
+     * @return the move for an edge index in DotsAndBoxesLayout numbering
+     */
+    public DotsAndBoxesMove toMove(int edge) {
+        int horizontalCount = (rows + 1) * cols;
+        if (edge < horizontalCount) {
+            return new DotsAndBoxesMove(edge / cols, edge % cols, true);
+        }
+        int v = edge - horizontalCount;
+        return new DotsAndBoxesMove(v / (cols + 1), v % (cols + 1), false);
+    }
+
+    // Count one more side around a box; claim it for the player when it reaches 4.
+    private int addSide(int row, int col, int playerNumber) {
+        int box = row * cols + col;
+        int count = ++sides[box];
+        refreshSafety(row, col);
+        if (count == 3) {
+            threeSidedBoxes++;
+            threeSidedMask[box >>> 6] |= 1L << box;
+            return 0;
+        }
+        if (count < 4) {
+            return 0;
+        }
+        threeSidedBoxes--;
+        threeSidedMask[box >>> 6] &= ~(1L << box);
+        boxOwners[row][col] = playerNumber;
+        DotsAndBoxesTile tile = (DotsAndBoxesTile) grid[row][col];
+        tile.setOwner(playerNumber);
+        scores[playerNumber]++;
+        claimedBoxes++;
+        return 1;
     }
 
     /**
-     * Check if a box has all four edges.
-     * @param row Box row
-     * @param col Box column
-     * @return true if box is complete
+     * @return number of edges drawn around a box (0-4)
      */
-    private boolean isBoxComplete(int row, int col) {
-        return horizontalEdges[row][col] != EMPTY &&      // Top
-                horizontalEdges[row + 1][col] != EMPTY &&  // Bottom
-                verticalEdges[row][col] != EMPTY &&        // Left
-                verticalEdges[row][col + 1] != EMPTY;      // Right
+    public int getSides(int row, int col) {
+        return sides[row * cols + col];
+    }
+
+    /**
+     * @return number of boxes with exactly 3 sides, i.e. boxes that can be taken right now
+     */
+    public int getThreeSidedCount() {
+        return threeSidedBoxes;
+    }
+
+    /**
+     * @return number of boxes claimed by either player
+     */
+    public int getClaimedCount() {
+        return claimedBoxes;
     }
 
     /**
@@ -168,29 +415,15 @@ public class DotsAndBoxesBoard extends Board {
      * @param playerNumber Player number (1 or 2)
      * @return Number of boxes owned
      */
+    @Override
     public int getScore(int playerNumber) {
-        int score = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (boxOwners[r][c] == playerNumber) {
-                    score++;
-                }
-            }
-        }
-        return score;
+        return playerNumber > 0 && playerNumber < scores.length ? scores[playerNumber] : 0;
     }
 
     @Override
     public boolean isGameOver() {
         // Game is over when all boxes are claimed
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (boxOwners[r][c] == EMPTY) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return claimedBoxes == rows * cols;
     }
 
     @Override
@@ -200,57 +433,20 @@ public class DotsAndBoxesBoard extends Board {
 
     /**
      * Render the board with optional color support.
+     * Only the lines changed since the previous call are rebuilt.
      * @param ui TextUI for color support (null for no colors)
      * @return String representation of the board
      */
+    @Override
     public String render(TextUI ui) {
-        StringBuilder sb = new StringBuilder();
-
-        for (int r = 0; r <= rows; r++) {
-            // Horizontal edges
-            for (int c = 0; c < cols; c++) {
-                sb.append("+");
-                if (r < rows + 1 && horizontalEdges[r][c] != EMPTY) {
-                    String edge = "---";
-                    if (ui != null && ui.isColor()) {
-                        edge = horizontalEdges[r][c] == PLAYER1 ? ui.red(edge) : ui.blue(edge);
-                    }
-                    sb.append(edge);
-                } else {
-                    sb.append("   ");
-                }
-            }
-            sb.append("+\n");
-
-            // Vertical edges and box contents
-            if (r < rows) {
-                for (int c = 0; c <= cols; c++) {
-                    if (verticalEdges[r][c] != EMPTY) {
-                        String edge = "|";
-                        if (ui != null && ui.isColor()) {
-                            edge = verticalEdges[r][c] == PLAYER1 ? ui.red(edge) : ui.blue(edge);
-                        }
-                        sb.append(edge);
-                    } else {
-                        sb.append(" ");
-                    }
-
-                    if (c < cols) {
-                        if (boxOwners[r][c] != EMPTY) {
-                            String owner = " " + boxOwners[r][c] + " ";
-                            if (ui != null && ui.isColor()) {
-                                owner = boxOwners[r][c] == PLAYER1 ? ui.red(owner) : ui.blue(owner);
-                            }
-                            sb.append(owner);
-                        } else {
-                            sb.append("   ");
-                        }
-                    }
-                }
-                sb.append("\n");
-            }
-        }
+        return renderer.render(ui);
+    }
 
-        return sb.toString();
+    /**
+     * Append the rendered board to a caller-owned buffer, e.g. when logging
+     * every frame of many games, without building an intermediate String.
+     */
+    public void renderTo(StringBuilder out, TextUI ui) {
+        renderer.appendTo(out, ui);
     }
 }
\ No newline at end of file
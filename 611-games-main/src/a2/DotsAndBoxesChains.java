@@ -0,0 +1,288 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endgame analyser for Dots and Boxes based on chains and loops.
+ *
+ * Once no safe edge is left, every open box has 2 or 3 sides drawn, so each
+ * box links to at most two others and the open boxes split into chains
+ * (paths, ending at the border) and loops (cycles). From there optimal play
+ * is decided per component instead of per edge:
+ *   - a player handed an opened chain of n takes all n and moves on, or
+ *     takes n - 2 and double-deals the last 2 (loops: the last 4);
+ *   - the player who must open something picks the component that costs least.
+ * f(components) is memoised on the multiset of lengths, which is tiny
+ * compared to the edge positions, so 10x10 endgames are solved instantly.
+ *
+ * The model assumes extraTurnOnBox and the usual simplifications (short
+ * chains of 1-2 are simply taken, a 2-chain is opened in the middle).
+ * analyse() returns null when the position is not such an endgame yet.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesChains {
+    private final Map<String, Integer> memo = new HashMap<>();
+
+    /**
+     * Outcome of the analysis: value and an edge that achieves it.
+     */
+    public static class Analysis {
+        public final int value;  // box margin for the side to move over the open boxes
+        public final int edge;   // edge to draw now
+
+        Analysis(int value, int edge) {
+            this.value = value;
+            this.edge = edge;
+        }
+    }
+
+    // One chain or loop, boxes listed in path order.
+    private static class Component {
+        final int[] boxes;
+        final boolean loop;     // closed cycle of 2-sided boxes (unopened)
+        final int capturable;   // number of 3-sided boxes in it (0, 1 or 2)
+
+        Component(int[] boxes, boolean loop, int capturable) {
+            this.boxes = boxes;
+            this.loop = loop;
+            this.capturable = capturable;
+        }
+
+        int size() {
+            return boxes.length;
+        }
+    }
+
+    /**
+     * @return the endgame value and move, or null if safe edges or junctions remain
+     */
+    public Analysis analyse(DotsAndBoxesPosition pos) {
+        List<Component> components = decompose(pos);
+        if (components == null) return null;
+        if (components.isEmpty()) return new Analysis(0, -1);
+
+        List<Component> opened = new ArrayList<>();
+        List<Component> closed = new ArrayList<>();
+        for (Component c : components) {
+            (c.capturable > 0 ? opened : closed).add(c);
+        }
+        int rest = solve(closed);
+
+        if (!opened.isEmpty()) {
+            // Take every opened component but one; the last one decides take-all vs double-deal
+            int taken = 0;
+            for (Component c : opened) taken += c.size();
+            int bestValue = Integer.MIN_VALUE;
+            Component last = null;
+            boolean dealLast = false;
+            for (Component c : opened) {
+                int n = c.size();
+                int before = taken - n;
+                int takeAll = before + n + rest;
+                int deal = c.capturable == 2 ? 4 : 2;
+                int dealValue = n >= deal && !closed.isEmpty() ? before + n - 2 * deal - rest : Integer.MIN_VALUE;
+                if (takeAll > bestValue) {
+                    bestValue = takeAll;
+                    last = c;
+                    dealLast = false;
+                }
+                if (dealValue > bestValue) {
+                    bestValue = dealValue;
+                    last = c;
+                    dealLast = true;
+                }
+            }
+            for (Component c : opened) {
+                if (c != last) return new Analysis(bestValue, takeEdge(pos, c));
+            }
+            return new Analysis(bestValue, dealLast ? dealEdge(pos, last) : takeEdge(pos, last));
+        }
+
+        // Nothing to take: open the cheapest component
+        int bestValue = Integer.MIN_VALUE;
+        Component choice = null;
+        for (int i = 0; i < closed.size(); i++) {
+            Component c = closed.get(i);
+            List<Component> others = new ArrayList<>(closed);
+            others.remove(i);
+            int value = -opponentGain(c, solve(others));
+            if (value > bestValue) {
+                bestValue = value;
+                choice = c;
+            }
+        }
+        return new Analysis(bestValue, openEdge(pos, choice));
+    }
+
+    /**
+     * @return the endgame value for the side to move, or Integer.MIN_VALUE if not an endgame
+     */
+    public int value(DotsAndBoxesPosition pos) {
+        Analysis a = analyse(pos);
+        return a == null ? Integer.MIN_VALUE : a.value;
+    }
+
+    // ---------- Theory ----------
+
+    // What the opponent nets when handed component c, with "rest" left for whoever moves next.
+    private static int opponentGain(Component c, int rest) {
+        return opponentGain(c.size(), c.loop, rest);
+    }
+
+    private static int opponentGain(int n, boolean loop, int rest) {
+        if (loop) return Math.max(n + rest, n - 8 - rest);
+        if (n <= 2) return n + rest;
+        return Math.max(n + rest, n - 4 - rest);
+    }
+
+    // f(S): value for the player who must open one of the (unopened) components.
+    private int solve(List<Component> components) {
+        if (components.isEmpty()) return 0;
+        char[] key = new char[components.size()];
+        for (int i = 0; i < key.length; i++) {
+            Component c = components.get(i);
+            key[i] = (char) (c.size() | (c.loop ? 0x8000 : 0));
+        }
+        Arrays.sort(key);
+        return solve(key);
+    }
+
+    private int solve(char[] key) {
+        if (key.length == 0) return 0;
+        String k = new String(key);
+        Integer cached = memo.get(k);
+        if (cached != null) return cached;
+
+        int best = Integer.MIN_VALUE;
+        char[] rest = new char[key.length - 1];
+        for (int i = 0; i < key.length; i++) {
+            if (i > 0 && key[i] == key[i - 1]) continue;  // same component type, same result
+            System.arraycopy(key, 0, rest, 0, i);
+            System.arraycopy(key, i + 1, rest, i, key.length - i - 1);
+            int gain = opponentGain(key[i] & 0x7FFF, (key[i] & 0x8000) != 0, solve(rest));
+            best = Math.max(best, -gain);
+        }
+        memo.put(k, best);
+        return best;
+    }
+
+    // ---------- Structure ----------
+
+    private static List<Component> decompose(DotsAndBoxesPosition pos) {
+        DotsAndBoxesLayout layout = pos.getLayout();
+        int boxCount = layout.boxCount;
+        for (int b = 0; b < boxCount; b++) {
+            int sides = pos.getSides(b);
+            if (sides < 2) return null;  // safe edges or junctions left
+        }
+
+        boolean[] seen = new boolean[boxCount];
+        List<Component> result = new ArrayList<>();
+        // Paths first: start from boxes with fewer than two open-box neighbours
+        for (int b = 0; b < boxCount; b++) {
+            if (seen[b] || pos.getSides(b) == 4 || neighbourCount(pos, b) == 2) continue;
+            result.add(walk(pos, b, seen, false));
+        }
+        // Whatever is left is a loop
+        for (int b = 0; b < boxCount; b++) {
+            if (seen[b] || pos.getSides(b) == 4) continue;
+            result.add(walk(pos, b, seen, true));
+        }
+        return result;
+    }
+
+    private static Component walk(DotsAndBoxesPosition pos, int start, boolean[] seen, boolean loop) {
+        List<Integer> boxes = new ArrayList<>();
+        int capturable = 0;
+        int prev = -1;
+        int b = start;
+        while (b >= 0 && !seen[b]) {
+            seen[b] = true;
+            boxes.add(b);
+            if (pos.getSides(b) == 3) capturable++;
+            int next = -1;
+            for (int e : pos.getLayout().boxEdges[b]) {
+                if (pos.isDrawn(e)) continue;
+                int other = across(pos.getLayout(), e, b);
+                if (other >= 0 && other != prev && !seen[other]) {
+                    next = other;
+                    break;
+                }
+            }
+            prev = b;
+            b = next;
+        }
+        int[] arr = new int[boxes.size()];
+        for (int i = 0; i < arr.length; i++) arr[i] = boxes.get(i);
+        return new Component(arr, loop, capturable);
+    }
+
+    private static int neighbourCount(DotsAndBoxesPosition pos, int box) {
+        int n = 0;
+        for (int e : pos.getLayout().boxEdges[box]) {
+            if (!pos.isDrawn(e) && across(pos.getLayout(), e, box) >= 0) n++;
+        }
+        return n;
+    }
+
+    // The box on the other side of edge e from box b, or -1 for the border.
+    private static int across(DotsAndBoxesLayout layout, int e, int b) {
+        int[] boxes = layout.edgeBoxes[e];
+        if (boxes.length < 2) return -1;
+        return boxes[0] == b ? boxes[1] : boxes[0];
+    }
+
+    // ---------- Moves ----------
+
+    private static int freeEdge(DotsAndBoxesPosition pos, int box, int excludeNeighbour) {
+        for (int e : pos.getLayout().boxEdges[box]) {
+            if (!pos.isDrawn(e) && (excludeNeighbour < 0 || across(pos.getLayout(), e, box) != excludeNeighbour)) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    private static int sharedEdge(DotsAndBoxesPosition pos, int a, int b) {
+        for (int e : pos.getLayout().boxEdges[a]) {
+            if (!pos.isDrawn(e) && across(pos.getLayout(), e, a) == b) return e;
+        }
+        return -1;
+    }
+
+    // Take one box of an opened component.
+    private static int takeEdge(DotsAndBoxesPosition pos, Component c) {
+        for (int box : c.boxes) {
+            if (pos.getSides(box) == 3) return freeEdge(pos, box, -1);
+        }
+        return -1;
+    }
+
+    // Keep taking until 2 (chain) or 4 (opened loop) boxes remain, then hand them over.
+    private static int dealEdge(DotsAndBoxesPosition pos, Component c) {
+        int[] b = c.boxes;
+        int n = b.length;
+        if (c.capturable == 2) {
+            if (n > 4) return takeEdge(pos, c);
+            return sharedEdge(pos, b[1], b[2]);  // leaves two dominoes
+        }
+        if (n > 2) return takeEdge(pos, c);
+        // b[0] or b[1] is the 3-sided box; draw the far edge of the other one
+        int open = pos.getSides(b[0]) == 3 ? 0 : 1;
+        int other = b[1 - open];
+        return freeEdge(pos, other, b[open]);
+    }
+
+    private static int openEdge(DotsAndBoxesPosition pos, Component c) {
+        int[] b = c.boxes;
+        if (c.loop || b.length == 1) return freeEdge(pos, b[0], -1);
+        if (b.length == 2) return sharedEdge(pos, b[0], b[1]);  // hard-hearted handout
+        return freeEdge(pos, b[0], b[1]);                        // open at the end
+    }
+}
@@ -6,6 +6,9 @@ import common.Player;
 import common.InputValidator;
 
 import common.Statistics;
+
+import java.io.IOException;
+
 /**
  * Dots and Boxes game implementation.
  * Extends the Game base class to provide dots and boxes functionality.
@@ -18,11 +21,14 @@ import common.Statistics;
  */
 public class DotsAndBoxesGame extends Game {
     // Instance variables for game state
-    private DotsAndBoxesBoard board;
+    private DotsAndBoxesGrid board;  // DotsAndBoxesBoard, or GiantDotsAndBoxesBoard above 10x10
     private InputValidator validator;
     private boolean extraTurnOnBox;
     private int lastBoxesCompleted;
     private final Statistics stats;
+    private DotsAndBoxesAI ai;       // with two humans, created on the first hint
+    private int computerPlayer;      // player number the AI plays, 0 = none
+    private DotsAndBoxesSolver solver;  // perfect-play table for hints, loaded on first use
 
     /**
      * Create a new Dots and Boxes game.
@@ -55,9 +61,13 @@ public class DotsAndBoxesGame extends Game {
     protected void setupPlayers() {
         ui.println("Setting up players for Dots & Boxes...\n");
 
+        ui.print("Play against the computer? (y/N): ");
+        boolean vsComputer = ui.nextLine().trim().equalsIgnoreCase("y");
+
         while (true) {
             String name1 = validator.readValidName("Player 1 name (default P1): ", "P1");
-            String name2 = validator.readValidName("Player 2 name (default P2): ", "P2");
+            String name2 = vsComputer ? "Computer"
+                    : validator.readValidName("Player 2 name (default P2): ", "P2");
 
             if (name1.equalsIgnoreCase(name2)) {
                 ui.println(ui.red("Player names must be different. Please try again.\n"));
@@ -66,22 +76,31 @@ public class DotsAndBoxesGame extends Game {
 
             players.add(new Player(name1, 1));
             players.add(new Player(name2, 2));
+            computerPlayer = vsComputer ? 2 : 0;
             break;
         }
     }
 
     @Override
     protected void initializeGame() {
-        // Get board dimensions
+        // Get board dimensions (the computer opponent and hints need a regular board)
+        int max = computerPlayer > 0 ? InputValidator.MAX_BOARD_SIZE : GiantDotsAndBoxesBoard.MAX_SIZE;
         int rows = validator.readBoundedInt(
-                "Number of box rows (1-10, default 2): ", 2, 1, 10
+                "Number of box rows (1-" + max + ", default 2): ", 2, 1, max
         );
         int cols = validator.readBoundedInt(
-                "Number of box columns (1-10, default 2): ", 2, 1, 10
+                "Number of box columns (1-" + max + ", default 2): ", 2, 1, max
         );
 
-        // Create the board
-        board = new DotsAndBoxesBoard(rows, cols);
+        // Create the board; anything above 10x10 uses the bit-packed giant board
+        if (isGiant(rows, cols)) {
+            board = new GiantDotsAndBoxesBoard(rows, cols);
+            ui.println("Giant board: only a " + GiantDotsAndBoxesBoard.DEFAULT_VIEW + "x"
+                    + GiantDotsAndBoxesBoard.DEFAULT_VIEW + " window is shown. Use 'view <row> <col>' to move it.");
+        } else {
+            board = new DotsAndBoxesBoard(rows, cols);
+        }
+        ai = computerPlayer > 0 ? new DotsAndBoxesAI(Rules.standard(rows, cols)) : null;
 
         ui.println("\nGame started! Players take turns drawing edges between dots.");
         ui.println("Complete a box to claim it and get an extra turn.\n");
@@ -93,7 +112,15 @@ public class DotsAndBoxesGame extends Game {
         int playerNumber = currentPlayer.getPlayerNumber();
 
         ui.println("\n" + currentPlayer.getName() + "'s turn (Player " + playerNumber + ")");
-        ui.println("Enter: [H/V] <row> <col>  (h=help, s=stats, q=quit)");
+
+        if (playerNumber == computerPlayer) {
+            DotsAndBoxesMove move = ai.chooseMove(board, DotsAndBoxesAI.DEFAULT_TIME_MS);
+            ui.println(currentPlayer.getName() + " draws " + move);
+            playEdge(currentPlayer, move);
+            return true;
+        }
+
+        ui.println("Enter: [H/V] <row> <col>  (h=help, ?=hint, u=undo, s=stats, q=quit)");
         ui.print("> ");
 
         String input = ui.nextLine().trim();
@@ -112,8 +139,29 @@ public class DotsAndBoxesGame extends Game {
             return true;
         }
 
+        if (input.equals("?") || input.equalsIgnoreCase("hint")) {
+            displayHint();
+            return true;
+        }
+
+        if (input.equalsIgnoreCase("u") || input.equalsIgnoreCase("undo")) {
+            takeBack();
+            return true;
+        }
+
         // Parse move
         String[] tokens = input.split("\\s+");
+        if (board instanceof GiantDotsAndBoxesBoard && tokens[0].equalsIgnoreCase("view")) {
+            Integer vr = tokens.length == 3 ? ui.tryParseInt(tokens[1]) : null;
+            Integer vc = tokens.length == 3 ? ui.tryParseInt(tokens[2]) : null;
+            if (vr == null || vc == null) {
+                ui.println(ui.red("View format: view <row> <col>"));
+            } else {
+                ((GiantDotsAndBoxesBoard) board).setViewport(vr, vc);
+            }
+            return true;
+        }
+
         if (tokens.length != 3) {
             ui.println(ui.red("Invalid format. Use: H <row> <col> or V <row> <col>"));
             return true;
@@ -136,8 +184,16 @@ public class DotsAndBoxesGame extends Game {
             return true;
         }
 
-        // Apply the move
-        lastBoxesCompleted = board.applyEdge(move, playerNumber);
+        playEdge(currentPlayer, move);
+        return true;
+    }
+
+    // Apply a validated move and decide whether the same player goes again.
+    private void playEdge(Player currentPlayer, DotsAndBoxesMove move) {
+        lastBoxesCompleted = board.applyEdge(move, currentPlayer.getPlayerNumber());
+        if (board instanceof GiantDotsAndBoxesBoard) {
+            ((GiantDotsAndBoxesBoard) board).follow(move);
+        }
         currentPlayer.addScore(lastBoxesCompleted);
 
         // Check for extra turn
@@ -151,8 +207,6 @@ public class DotsAndBoxesGame extends Game {
         } else {
             nextPlayer(); // Switching players without completing the grid.
         }
-
-        return true;
     }
 
     @Override
@@ -242,11 +296,95 @@ public class DotsAndBoxesGame extends Game {
         ui.println("Commands:");
         ui.println("  H <row> <col> - Draw horizontal edge");
         ui.println("  V <row> <col> - Draw vertical edge");
+        ui.println("  ?             - Suggest a move");
+        ui.println("  u             - Take back the last move (and the computer's reply)");
+        if (board instanceof GiantDotsAndBoxesBoard) {
+            ui.println("  view <r> <c>  - Show the part of the board starting at box (r, c)");
+        }
         ui.println("  h             - Show this help");
         ui.println("  s             - Show statistics");
         ui.println("  q             - Quit the game");
     }
 
+    /**
+     * Suggest a move: perfect play from the solver table on small boards,
+     * otherwise a short AI search.
+     */
+    private void displayHint() {
+        if (board instanceof GiantDotsAndBoxesBoard) {
+            ui.println(ui.yellow("Hints are only available up to " + InputValidator.MAX_BOARD_SIZE + "x"
+                    + InputValidator.MAX_BOARD_SIZE + "."));
+            return;
+        }
+        DotsAndBoxesBoard regular = (DotsAndBoxesBoard) board;
+        DotsAndBoxesMove capture = regular.getCapturingMove();
+        if (capture != null) {
+            ui.println("You can take a box now, e.g. " + capture + ".");
+        } else if (regular.getSafeEdgeCount() > 0) {
+            ui.println(regular.getSafeEdgeCount() + " safe edges left (edges that give nothing away).");
+        } else {
+            ui.println("No safe edges left: every move opens a chain or loop.");
+        }
+
+        DotsAndBoxesPosition pos = DotsAndBoxesPosition.of(board);
+        Rules rules = Rules.standard(board.getRows(), board.getCols());
+
+        if (solver == null && DotsAndBoxesSolver.supports(rules.rows, rules.cols)) {
+            ui.println("Loading perfect-play table (built once, then cached)...");
+            try {
+                solver = DotsAndBoxesSolver.forRules(rules);
+            } catch (IOException e) {
+                ui.println(ui.yellow("Could not cache the table (" + e.getMessage() + "), computing in memory."));
+                solver = DotsAndBoxesSolver.build(rules);
+            }
+        }
+
+        if (solver != null) {
+            int edge = solver.bestEdge(pos);
+            int margin = solver.value(pos);  // for the player to move
+            String outcome = margin > 0 ? "win the remaining boxes by " + margin
+                    : margin < 0 ? "lose the remaining boxes by " + -margin
+                    : "draw the remaining boxes";
+            ui.println(ui.cyan("Hint: " + pos.getLayout().toMove(edge) + " (with perfect play, you " + outcome + ")"));
+            return;
+        }
+
+        if (ai == null) {
+            ai = new DotsAndBoxesAI(rules);  // keeps its transposition table for later hints
+        }
+        int edge = ai.chooseEdge(pos, DotsAndBoxesAI.DEFAULT_TIME_MS);
+        ui.println(ui.cyan("Hint: " + pos.getLayout().toMove(edge)));
+    }
+
+    /**
+     * Undo the last edge and give the turn back to whoever drew it.
+     * Against the computer, its edges are undone too, so the human is on move again.
+     */
+    private void takeBack() {
+        if (!(board instanceof DotsAndBoxesBoard)) {
+            ui.println(ui.yellow("Takebacks are only available up to " + InputValidator.MAX_BOARD_SIZE + "x"
+                    + InputValidator.MAX_BOARD_SIZE + "."));
+            return;
+        }
+        DotsAndBoxesBoard regular = (DotsAndBoxesBoard) board;
+        if (regular.getMoveCount() == 0) {
+            ui.println(ui.yellow("Nothing to take back."));
+            return;
+        }
+
+        int playerNumber;
+        do {
+            playerNumber = regular.getMovePlayer(regular.getMoveCount() - 1);
+            DotsAndBoxesMove move = regular.undoEdge();
+            ui.println("Took back " + move + " by " + players.get(playerNumber - 1).getName());
+        } while (playerNumber == computerPlayer && regular.getMoveCount() > 0);
+        currentPlayerIndex = playerNumber - 1;
+    }
+
+    private static boolean isGiant(int rows, int cols) {
+        return rows > InputValidator.MAX_BOARD_SIZE || cols > InputValidator.MAX_BOARD_SIZE;
+    }
+
     /**
      * Display player statistics.
      */
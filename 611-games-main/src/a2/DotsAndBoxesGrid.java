@@ -0,0 +1,29 @@
+package a2;
+
+import engine.TextUI;
+
+/**
+ * What DotsAndBoxesGame needs from a board, so the regular board and the
+ * bit-packed giant board can be played through the same game loop.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public interface DotsAndBoxesGrid {
+    int getRows();
+
+    int getCols();
+
+    boolean isEdgeFree(DotsAndBoxesMove move);
+
+    /**
+     * @return number of boxes completed (0, 1, or 2)
+     */
+    int applyEdge(DotsAndBoxesMove move, int playerNumber);
+
+    int getScore(int playerNumber);
+
+    boolean isGameOver();
+
+    String render(TextUI ui);
+}
@@ -0,0 +1,188 @@
+package a2;
+
+import java.util.Random;
+
+/**
+ * Edge numbering for a rows x cols Dots and Boxes board, shared by the
+ * bit-packed search code (DotsAndBoxesPosition and the AI).
+ *
+ * Horizontal edges come first, row by row, then vertical edges:
+ *   H r c  ->  r * cols + c                              (r in 0..rows, c in 0..cols-1)
+ *   V r c  ->  (rows + 1) * cols + r * (cols + 1) + c    (r in 0..rows-1, c in 0..cols)
+ * Boxes are numbered r * cols + c.
+ *
+ * The lookup tables are built once per layout, so the search never does
+ * coordinate arithmetic in its inner loop.
+ *
+ * The layout also holds the board's symmetries as edge permutations: the
+ * identity, both mirrors and the half turn, plus the transposes and quarter
+ * turns when rows == cols. For boards of at most 64 edges each symmetry is
+ * also tabulated per mask byte, so a whole mask is permuted with 8 lookups.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesLayout {
+    public final int rows;
+    public final int cols;
+    public final int edgeCount;
+    public final int boxCount;
+    private final int horizontalCount;
+
+    final int[][] boxEdges;   // box -> its 4 edges (top, bottom, left, right)
+    final int[][] edgeBoxes;  // edge -> the 1 or 2 boxes it borders
+    final long[] edgeKeys;    // random key per edge, for hashing boards with more than 64 edges
+
+    final int[][] symmetries;      // [s][edge] -> image of the edge under symmetry s (s = 0 is the identity)
+    final int[][] inverses;        // [s][image] -> edge
+    final long[][][] maskTables;   // [s][byte][value] -> permuted bits, only for edgeCount <= 64
+
+    public DotsAndBoxesLayout(int rows, int cols) {
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Board must have at least one row AND one column!");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.horizontalCount = (rows + 1) * cols;
+        this.edgeCount = horizontalCount + rows * (cols + 1);
+        this.boxCount = rows * cols;
+
+        boxEdges = new int[boxCount][];
+        int[] touching = new int[edgeCount];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int[] e = {horizontal(r, c), horizontal(r + 1, c), vertical(r, c), vertical(r, c + 1)};
+                boxEdges[r * cols + c] = e;
+                for (int edge : e) touching[edge]++;
+            }
+        }
+        edgeBoxes = new int[edgeCount][];
+        for (int e = 0; e < edgeCount; e++) {
+            edgeBoxes[e] = new int[touching[e]];
+            touching[e] = 0;
+        }
+        for (int b = 0; b < boxCount; b++) {
+            for (int edge : boxEdges[b]) {
+                edgeBoxes[edge][touching[edge]++] = b;
+            }
+        }
+
+        edgeKeys = new long[edgeCount];
+        Random random = new Random(rows * 1009L + cols);
+        for (int e = 0; e < edgeCount; e++) {
+            edgeKeys[e] = random.nextLong();
+        }
+
+        int count = rows == cols ? 8 : 4;
+        symmetries = new int[count][edgeCount];
+        inverses = new int[count][edgeCount];
+        for (int sym = 0; sym < count; sym++) {
+            for (int e = 0; e < edgeCount; e++) {
+                int image = transform(sym, e);
+                symmetries[sym][e] = image;
+                inverses[sym][image] = e;
+            }
+        }
+
+        if (edgeCount <= 64) {
+            int bytes = (edgeCount + 7) / 8;
+            maskTables = new long[count][bytes][256];
+            for (int sym = 0; sym < count; sym++) {
+                for (int b = 0; b < bytes; b++) {
+                    for (int v = 0; v < 256; v++) {
+                        long bits = 0;
+                        for (int i = 0; i < 8; i++) {
+                            int e = b * 8 + i;
+                            if ((v & (1 << i)) != 0 && e < edgeCount) bits |= 1L << symmetries[sym][e];
+                        }
+                        maskTables[sym][b][v] = bits;
+                    }
+                }
+            }
+        } else {
+            maskTables = null;
+        }
+    }
+
+    public int getSymmetryCount() {
+        return symmetries.length;
+    }
+
+    /**
+     * Apply a symmetry to a mask of at most 64 edges.
+     */
+    long permute(int sym, long mask) {
+        long[][] table = maskTables[sym];
+        long result = 0;
+        for (int b = 0; b < table.length; b++) {
+            result |= table[b][(int) (mask >>> (b * 8)) & 0xFF];
+        }
+        return result;
+    }
+
+    // Map an edge through symmetry sym by moving both of its end dots.
+    private int transform(int sym, int edge) {
+        int y1, x1, y2, x2;
+        if (isHorizontal(edge)) {
+            y1 = y2 = edge / cols;
+            x1 = edge % cols;
+            x2 = x1 + 1;
+        } else {
+            int v = edge - horizontalCount;
+            y1 = v / (cols + 1);
+            y2 = y1 + 1;
+            x1 = x2 = v % (cols + 1);
+        }
+        int[] a = transformDot(sym, y1, x1);
+        int[] b = transformDot(sym, y2, x2);
+        if (a[0] == b[0]) return horizontal(a[0], Math.min(a[1], b[1]));
+        return vertical(Math.min(a[0], b[0]), a[1]);
+    }
+
+    // Dots form a (rows + 1) x (cols + 1) grid; symmetries 4-7 need rows == cols.
+    private int[] transformDot(int sym, int y, int x) {
+        switch (sym) {
+            case 0:  return new int[]{y, x};
+            case 1:  return new int[]{rows - y, x};         // mirror top-bottom
+            case 2:  return new int[]{y, cols - x};         // mirror left-right
+            case 3:  return new int[]{rows - y, cols - x};  // half turn
+            case 4:  return new int[]{x, y};                // main diagonal
+            case 5:  return new int[]{cols - x, rows - y};  // anti-diagonal
+            case 6:  return new int[]{x, rows - y};         // quarter turn
+            default: return new int[]{cols - x, y};         // three-quarter turn
+        }
+    }
+
+    public int horizontal(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int vertical(int row, int col) {
+        return horizontalCount + row * (cols + 1) + col;
+    }
+
+    public boolean isHorizontal(int edge) {
+        return edge < horizontalCount;
+    }
+
+    /**
+     * @return the edge index of a move, or -1 if the move is off the board
+     */
+    public int indexOf(DotsAndBoxesMove move) {
+        int r = move.getRow(), c = move.getCol();
+        if (move.isHorizontal()) {
+            if (r < 0 || r > rows || c < 0 || c >= cols) return -1;
+            return horizontal(r, c);
+        }
+        if (r < 0 || r >= rows || c < 0 || c > cols) return -1;
+        return vertical(r, c);
+    }
+
+    public DotsAndBoxesMove toMove(int edge) {
+        if (isHorizontal(edge)) {
+            return new DotsAndBoxesMove(edge / cols, edge % cols, true);
+        }
+        int v = edge - horizontalCount;
+        return new DotsAndBoxesMove(v / (cols + 1), v % (cols + 1), false);
+    }
+}
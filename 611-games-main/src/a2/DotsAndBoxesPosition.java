@@ -0,0 +1,174 @@
+package a2;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packed Dots and Boxes position for search: one bit per edge
+ * (see DotsAndBoxesLayout for the numbering) and a side count per box.
+ *
+ * apply() and undo() touch one bit and at most two side counters, and a
+ * box is complete exactly when its counter reaches 4, so the search can
+ * make and unmake millions of moves without copying anything.
+ * Box owners are not stored: the search only needs the score margin of
+ * the boxes that are still open.
+ *
+ * canonicalKey() gives the same key for all mirrored / rotated versions of
+ * a position, so a transposition table can share their entries.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesPosition {
+    private final DotsAndBoxesLayout layout;
+    private final long[] edges;
+    private final byte[] sides;
+    private int drawn;
+    private int claimed;
+    // Zobrist hash of the drawn edges under every symmetry (only kept when the mask does not fit in a long)
+    private final long[] hashes;
+    private int canonicalSymmetry;
+
+    public DotsAndBoxesPosition(DotsAndBoxesLayout layout) {
+        this.layout = layout;
+        this.edges = new long[(layout.edgeCount + 63) >>> 6];
+        this.sides = new byte[layout.boxCount];
+        this.hashes = new long[edges.length > 1 ? layout.getSymmetryCount() : 0];
+    }
+
+    /**
+     * Snapshot the edges already drawn on a board.
+     */
+    public static DotsAndBoxesPosition of(DotsAndBoxesGrid board) {
+        DotsAndBoxesLayout layout = new DotsAndBoxesLayout(board.getRows(), board.getCols());
+        DotsAndBoxesPosition pos = new DotsAndBoxesPosition(layout);
+        for (int e = 0; e < layout.edgeCount; e++) {
+            if (!board.isEdgeFree(layout.toMove(e))) {
+                pos.apply(e);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Clear every edge, back to the empty board.
+     */
+    public void reset() {
+        Arrays.fill(edges, 0L);
+        Arrays.fill(sides, (byte) 0);
+        Arrays.fill(hashes, 0L);
+        drawn = 0;
+        claimed = 0;
+    }
+
+    public DotsAndBoxesLayout getLayout() {
+        return layout;
+    }
+
+    public boolean isDrawn(int edge) {
+        return (edges[edge >>> 6] & (1L << edge)) != 0;
+    }
+
+    /**
+     * Draw an edge (which must be free).
+     * @return number of boxes it completes (0, 1 or 2)
+     */
+    public int apply(int edge) {
+        edges[edge >>> 6] |= 1L << edge;
+        updateHashes(edge);
+        drawn++;
+        int completed = 0;
+        for (int box : layout.edgeBoxes[edge]) {
+            if (++sides[box] == 4) completed++;
+        }
+        claimed += completed;
+        return completed;
+    }
+
+    /**
+     * Exact inverse of apply(edge).
+     */
+    public void undo(int edge) {
+        edges[edge >>> 6] &= ~(1L << edge);
+        updateHashes(edge);
+        drawn--;
+        for (int box : layout.edgeBoxes[edge]) {
+            if (sides[box]-- == 4) claimed--;
+        }
+    }
+
+    private void updateHashes(int edge) {
+        for (int sym = 0; sym < hashes.length; sym++) {
+            hashes[sym] ^= layout.edgeKeys[layout.symmetries[sym][edge]];
+        }
+    }
+
+    /**
+     * @return boxes the edge would complete if drawn now
+     */
+    public int completions(int edge) {
+        int n = 0;
+        for (int box : layout.edgeBoxes[edge]) {
+            if (sides[box] == 3) n++;
+        }
+        return n;
+    }
+
+    /**
+     * @return true if drawing the edge leaves a box with 3 sides for the opponent
+     */
+    public boolean givesAway(int edge) {
+        for (int box : layout.edgeBoxes[edge]) {
+            if (sides[box] == 2) return true;
+        }
+        return false;
+    }
+
+    public int getSides(int box) {
+        return sides[box];
+    }
+
+    public int getDrawnCount() {
+        return drawn;
+    }
+
+    public int getClaimedCount() {
+        return claimed;
+    }
+
+    public boolean isFull() {
+        return drawn == layout.edgeCount;
+    }
+
+    /**
+     * @return the edge mask itself when the board has at most 64 edges (exact),
+     *         otherwise a 64-bit Zobrist hash of the drawn edges
+     */
+    public long key() {
+        return edges.length == 1 ? edges[0] : hashes[0];
+    }
+
+    /**
+     * Smallest key over all symmetric versions of this position.
+     * getCanonicalSymmetry() then tells which symmetry produced it.
+     */
+    public long canonicalKey() {
+        int count = layout.getSymmetryCount();
+        long best = key();
+        canonicalSymmetry = 0;
+        for (int sym = 1; sym < count; sym++) {
+            long k = edges.length == 1 ? layout.permute(sym, edges[0]) : hashes[sym];
+            if (Long.compareUnsigned(k, best) < 0) {
+                best = k;
+                canonicalSymmetry = sym;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return symmetry used by the last canonicalKey() call
+     */
+    public int getCanonicalSymmetry() {
+        return canonicalSymmetry;
+    }
+}
@@ -0,0 +1,136 @@
+package a2;
+
+import engine.TextUI;
+
+import java.util.Arrays;
+
+/**
+ * Cached text renderer for DotsAndBoxesBoard.
+ *
+ * The board is drawn as 2 * rows + 1 text lines (edge rows alternating with
+ * box rows). Each line is kept in its own StringBuilder and rebuilt only after
+ * the board reports a change on it, so drawing one edge re-renders at most
+ * three lines. Edge and owner tokens, with their ANSI colours, are built once
+ * per colour mode, so rebuilding a line appends shared strings only.
+ *
+ * The output is identical to the original DotsAndBoxesBoard.render(TextUI).
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+class DotsAndBoxesRenderer {
+    private final int rows;
+    private final int cols;
+    private final int[][] horizontalEdges;  // the board's arrays, read only
+    private final int[][] verticalEdges;
+    private final int[][] boxOwners;
+
+    private final StringBuilder[] lines;
+    private final boolean[] dirty;
+    private final StringBuilder frame = new StringBuilder();
+
+    // Tokens indexed by owner (0 = empty), for the current colour mode
+    private final String[] horizontalTokens = new String[3];
+    private final String[] verticalTokens = new String[3];
+    private final String[] boxTokens = new String[3];
+    private boolean tokensReady;
+    private boolean colored;
+
+    DotsAndBoxesRenderer(int rows, int cols, int[][] horizontalEdges, int[][] verticalEdges, int[][] boxOwners) {
+        this.rows = rows;
+        this.cols = cols;
+        this.horizontalEdges = horizontalEdges;
+        this.verticalEdges = verticalEdges;
+        this.boxOwners = boxOwners;
+        this.lines = new StringBuilder[2 * rows + 1];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new StringBuilder(cols * 4 + 2);
+        }
+        this.dirty = new boolean[lines.length];
+        invalidateAll();
+    }
+
+    void invalidateAll() {
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * Mark the lines showing an edge, and the boxes it may have claimed, for rebuilding.
+     */
+    void edgeChanged(int row, int col, boolean horizontal) {
+        if (horizontal) {
+            dirty[2 * row] = true;
+            if (row > 0) dirty[2 * row - 1] = true;     // box above
+            if (row < rows) dirty[2 * row + 1] = true;  // box below
+        } else {
+            dirty[2 * row + 1] = true;                  // edge and both boxes share a line
+        }
+    }
+
+    /**
+     * @return the whole board as one string (built in a reused buffer)
+     */
+    String render(TextUI ui) {
+        frame.setLength(0);
+        appendTo(frame, ui);
+        return frame.toString();
+    }
+
+    /**
+     * Append the board to out, rebuilding only the lines that changed.
+     */
+    void appendTo(StringBuilder out, TextUI ui) {
+        boolean color = ui != null && ui.isColor();
+        if (!tokensReady || color != colored) {
+            buildTokens(ui, color);
+            invalidateAll();
+        }
+        for (int i = 0; i < lines.length; i++) {
+            if (dirty[i]) {
+                rebuild(i);
+                dirty[i] = false;
+            }
+            out.append(lines[i]);
+        }
+    }
+
+    private void rebuild(int line) {
+        StringBuilder sb = lines[line];
+        sb.setLength(0);
+        int r = line / 2;
+        if ((line & 1) == 0) {
+            // Horizontal edges
+            for (int c = 0; c < cols; c++) {
+                sb.append('+').append(horizontalTokens[horizontalEdges[r][c]]);
+            }
+            sb.append("+\n");
+        } else {
+            // Vertical edges and box contents
+            for (int c = 0; c <= cols; c++) {
+                sb.append(verticalTokens[verticalEdges[r][c]]);
+                if (c < cols) {
+                    sb.append(boxTokens[boxOwners[r][c]]);
+                }
+            }
+            sb.append('\n');
+        }
+    }
+
+    private void buildTokens(TextUI ui, boolean color) {
+        horizontalTokens[0] = "   ";
+        verticalTokens[0] = " ";
+        boxTokens[0] = "   ";
+        for (int player = 1; player <= 2; player++) {
+            horizontalTokens[player] = paint(ui, color, "---", player);
+            verticalTokens[player] = paint(ui, color, "|", player);
+            boxTokens[player] = paint(ui, color, " " + player + " ", player);
+        }
+        colored = color;
+        tokensReady = true;
+    }
+
+    private static String paint(TextUI ui, boolean color, String s, int player) {
+        if (!color) return s;
+        return player == 1 ? ui.red(s) : ui.blue(s);
+    }
+}
@@ -0,0 +1,294 @@
+package a2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless self-play for Dots and Boxes, for comparing strategies.
+ *
+ * Games run on a fixed thread pool with no TextUI involved. Each worker
+ * owns one DotsAndBoxesBoard (cleared with reset() between games), a
+ * DotsAndBoxesPosition mirror that the strategies read, and its own
+ * strategy instances, so nothing is shared while a game is played.
+ * Workers claim game numbers from one atomic counter and report into
+ * LongAdders and an AtomicLongArray histogram, so there are no locks.
+ *
+ * Strategy A is always player 1 and B player 2; who moves first alternates
+ * between games. Every game seeds its Random from (seed, game number), so
+ * runs without the search strategy are reproducible.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesSimulator {
+    public static final long DEFAULT_SEARCH_MS = 20;
+
+    /**
+     * Available strategies, by increasing strength.
+     */
+    public enum Strategy {
+        RANDOM,   // any free edge
+        GREEDY,   // take a box if possible, else a safe edge, else anything
+        CHAINS,   // greedy until only chains and loops remain, then DotsAndBoxesChains
+        SEARCH;   // DotsAndBoxesAI with a fixed time per move
+
+        public static Strategy parse(String name) {
+            for (Strategy s : values()) {
+                if (s.name().equalsIgnoreCase(name)) return s;
+            }
+            throw new IllegalArgumentException("Unknown strategy: " + name + " (random, greedy, chains, search)");
+        }
+    }
+
+    private final Rules rules;
+    private final Strategy strategyA;
+    private final Strategy strategyB;
+    private final int threads;
+    private long searchMs = DEFAULT_SEARCH_MS;
+    private long seed = 611;
+
+    public DotsAndBoxesSimulator(Rules rules, Strategy strategyA, Strategy strategyB, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.rules = rules;
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.threads = threads;
+    }
+
+    public void setSearchMs(long searchMs) {
+        this.searchMs = Math.max(1, searchMs);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Play the given number of games and wait for all of them.
+     */
+    public Result run(long games) throws InterruptedException {
+        Result result = new Result(strategyA, strategyB, rules.rows * rules.cols);
+        AtomicLong next = new AtomicLong();
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> work(games, next, result)));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Simulation worker failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    // One worker: reuse the same board, position and strategies for every game it claims.
+    private void work(long games, AtomicLong next, Result result) {
+        DotsAndBoxesBoard board = new DotsAndBoxesBoard(rules.rows, rules.cols);
+        DotsAndBoxesLayout layout = new DotsAndBoxesLayout(rules.rows, rules.cols);
+        DotsAndBoxesPosition pos = new DotsAndBoxesPosition(layout);
+        Mover[] movers = {null, create(strategyA), create(strategyB)};
+        Random random = new Random();
+
+        long game;
+        while ((game = next.getAndIncrement()) < games) {
+            board.reset();
+            pos.reset();
+            random.setSeed(seed + game * 0x9E3779B97F4A7C15L);
+
+            int current = (game & 1) == 0 ? 1 : 2;
+            int moves = 0;
+            while (!board.isGameOver()) {
+                int edge = movers[current].chooseEdge(board, pos, random);
+                int completed = board.applyEdge(layout.toMove(edge), current);
+                pos.apply(edge);
+                moves++;
+                if (completed == 0 || !rules.extraTurnOnBox) {
+                    current = 3 - current;
+                }
+            }
+            result.record(board.getScore(1) - board.getScore(2), moves);
+        }
+    }
+
+    private Mover create(Strategy strategy) {
+        switch (strategy) {
+            case RANDOM:
+                return (board, pos, random) -> randomEdge(pos, random);
+            case GREEDY:
+                return DotsAndBoxesSimulator::greedyEdge;
+            case CHAINS: {
+                DotsAndBoxesChains chains = new DotsAndBoxesChains();
+                return (board, pos, random) -> {
+                    DotsAndBoxesChains.Analysis endgame = chains.analyse(pos);
+                    return endgame != null && endgame.edge >= 0 ? endgame.edge : greedyEdge(board, pos, random);
+                };
+            }
+            default: {
+                DotsAndBoxesAI ai = new DotsAndBoxesAI(rules);
+                return (board, pos, random) -> ai.chooseEdge(pos, searchMs);
+            }
+        }
+    }
+
+    // ---------- Strategies ----------
+
+    private interface Mover {
+        int chooseEdge(DotsAndBoxesBoard board, DotsAndBoxesPosition pos, Random random);
+    }
+
+    // Captures and safe edges come straight from the board's incrementally kept sets.
+    private static int greedyEdge(DotsAndBoxesBoard board, DotsAndBoxesPosition pos, Random random) {
+        int capture = board.getCapturingEdge();
+        if (capture >= 0) return capture;
+        int safe = board.getSafeEdgeCount();
+        return safe > 0 ? board.getSafeEdge(random.nextInt(safe)) : randomEdge(pos, random);
+    }
+
+    // Uniform pick among the free edges, -1 if there is none.
+    private static int randomEdge(DotsAndBoxesPosition pos, Random random) {
+        int edgeCount = pos.getLayout().edgeCount;
+        int chosen = -1;
+        int seen = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (pos.isDrawn(e)) continue;
+            if (random.nextInt(++seen) == 0) chosen = e;
+        }
+        return chosen;
+    }
+
+    // ---------- Results ----------
+
+    /**
+     * Aggregated outcome of a run, from strategy A's point of view.
+     * Safe to update from several threads at once.
+     */
+    public static class Result {
+        private final Strategy strategyA;
+        private final Strategy strategyB;
+        private final int boxCount;
+        private final LongAdder winsA = new LongAdder();
+        private final LongAdder winsB = new LongAdder();
+        private final LongAdder draws = new LongAdder();
+        private final LongAdder moves = new LongAdder();
+        private final AtomicLongArray margins;  // index = (score A - score B) + boxCount
+        private long elapsedNanos;
+
+        Result(Strategy strategyA, Strategy strategyB, int boxCount) {
+            this.strategyA = strategyA;
+            this.strategyB = strategyB;
+            this.boxCount = boxCount;
+            this.margins = new AtomicLongArray(2 * boxCount + 1);
+        }
+
+        void record(int margin, int gameMoves) {
+            if (margin > 0) winsA.increment();
+            else if (margin < 0) winsB.increment();
+            else draws.increment();
+            moves.add(gameMoves);
+            margins.incrementAndGet(margin + boxCount);
+        }
+
+        public long getGames() {
+            return winsA.sum() + winsB.sum() + draws.sum();
+        }
+
+        public long getWinsA() {
+            return winsA.sum();
+        }
+
+        public long getWinsB() {
+            return winsB.sum();
+        }
+
+        public long getDraws() {
+            return draws.sum();
+        }
+
+        /**
+         * @return number of games that ended with score A - score B == margin
+         */
+        public long getMarginCount(int margin) {
+            if (margin < -boxCount || margin > boxCount) return 0;
+            return margins.get(margin + boxCount);
+        }
+
+        public double getMeanMargin() {
+            long games = getGames();
+            if (games == 0) return 0;
+            long sum = 0;
+            for (int m = -boxCount; m <= boxCount; m++) {
+                sum += m * getMarginCount(m);
+            }
+            return (double) sum / games;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Multi-line report: win rates, mean margin and the margin distribution.
+         */
+        public String format() {
+            long games = Math.max(1, getGames());
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "%d games, %s (A) vs %s (B), %.1f games/s, %.1f moves/game%n",
+                    getGames(), strategyA, strategyB, getGamesPerSecond(), (double) moves.sum() / games));
+            sb.append(String.format(Locale.ROOT, "A wins %.2f%%   B wins %.2f%%   draws %.2f%%   mean margin %+.3f%n",
+                    100.0 * getWinsA() / games, 100.0 * getWinsB() / games, 100.0 * getDraws() / games,
+                    getMeanMargin()));
+            sb.append("Margin (A - B) distribution:\n");
+            long peak = 1;
+            for (int m = -boxCount; m <= boxCount; m++) peak = Math.max(peak, getMarginCount(m));
+            for (int m = -boxCount; m <= boxCount; m++) {
+                long count = getMarginCount(m);
+                if (count == 0) continue;
+                int bar = (int) (40 * count / peak);
+                sb.append(String.format(Locale.ROOT, "%+4d %7.3f%% ", m, 100.0 * count / games));
+                for (int i = 0; i < bar; i++) sb.append('#');
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    // ---------- Command line ----------
+
+    /**
+     * Entry point for "java Main dots-sim [games] [strategyA] [strategyB] [rows] [cols] [threads] [searchMs]".
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+        Strategy a = args.length > 1 ? Strategy.parse(args[1]) : Strategy.GREEDY;
+        Strategy b = args.length > 2 ? Strategy.parse(args[2]) : Strategy.RANDOM;
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        int cols = args.length > 4 ? Integer.parseInt(args[4]) : rows;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        DotsAndBoxesSimulator simulator = new DotsAndBoxesSimulator(Rules.standard(rows, cols), a, b, threads);
+        if (args.length > 6) simulator.setSearchMs(Long.parseLong(args[6]));
+        System.out.print(simulator.run(games).format());
+    }
+}
@@ -0,0 +1,214 @@
+package a2;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Perfect-play table for small Dots and Boxes boards (at most 24 edges, e.g. 3x3).
+ *
+ * Entry [mask] is the best box margin the side to move can still get when
+ * exactly the edges in mask are drawn (edge numbering from DotsAndBoxesLayout).
+ * Every value depends only on masks with one more edge, so the table is
+ * filled layer by layer from the full board down to the empty one; all
+ * masks of a layer are independent and are computed in parallel.
+ *
+ * A 3x3 table is 16 MB. It is saved once and later memory-mapped, so hints
+ * are a single lookup per candidate edge.
+ *
+ * File layout: 'D' 'B' 'S' version, rows, cols, extraTurnOnBox, 0, table[2^edges]
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class DotsAndBoxesSolver {
+    public static final int MAX_EDGES = 24;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int SPLIT_BITS = 12;  // low bits of a mask enumerated per parallel task
+
+    private final DotsAndBoxesLayout layout;
+    private final boolean extraTurnOnBox;
+    private final ByteBuffer table;  // heap buffer while building, mapped file once loaded
+
+    private DotsAndBoxesSolver(DotsAndBoxesLayout layout, boolean extraTurnOnBox, ByteBuffer table) {
+        this.layout = layout;
+        this.extraTurnOnBox = extraTurnOnBox;
+        this.table = table;
+    }
+
+    /**
+     * @return true if a table for this board size fits the solver
+     */
+    public static boolean supports(int rows, int cols) {
+        return new DotsAndBoxesLayout(rows, cols).edgeCount <= MAX_EDGES;
+    }
+
+    /**
+     * Load the table for these rules from the cache directory, building and saving it first if needed.
+     */
+    public static DotsAndBoxesSolver forRules(Rules rules) throws IOException {
+        Path file = Paths.get(System.getProperty("user.home"), ".cs611",
+                "dots-" + rules.rows + "x" + rules.cols + (rules.extraTurnOnBox ? "" : "-noextra") + ".dbs");
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.getParent());
+            build(rules).save(file);
+        }
+        return load(file);
+    }
+
+    /**
+     * Compute the whole table in memory.
+     */
+    public static DotsAndBoxesSolver build(Rules rules) {
+        DotsAndBoxesLayout layout = new DotsAndBoxesLayout(rules.rows, rules.cols);
+        int edges = layout.edgeCount;
+        if (edges > MAX_EDGES) {
+            throw new IllegalArgumentException(rules.rows + "x" + rules.cols + " board has " + edges
+                    + " edges; the solver supports at most " + MAX_EDGES);
+        }
+
+        // For each edge, the "other three edges" mask of every box it borders
+        int[][] closers = new int[edges][];
+        for (int e = 0; e < edges; e++) {
+            int[] boxes = layout.edgeBoxes[e];
+            closers[e] = new int[boxes.length];
+            for (int i = 0; i < boxes.length; i++) {
+                int m = 0;
+                for (int side : layout.boxEdges[boxes[i]]) {
+                    if (side != e) m |= 1 << side;
+                }
+                closers[e][i] = m;
+            }
+        }
+
+        byte[] values = new byte[1 << edges];
+        int lowBits = Math.min(SPLIT_BITS, edges);
+        int highBits = edges - lowBits;
+        int[][] lowByCount = masksByPopCount(lowBits);
+        boolean extraTurn = rules.extraTurnOnBox;
+
+        // values[full] = 0 already; every other layer reads only the layer above it
+        for (int drawn = edges - 1; drawn >= 0; drawn--) {
+            final int layer = drawn;
+            IntStream.range(0, 1 << highBits).parallel().forEach(high -> {
+                int need = layer - Integer.bitCount(high);
+                if (need < 0 || need > lowBits) return;
+                for (int low : lowByCount[need]) {
+                    int mask = (high << lowBits) | low;
+                    values[mask] = (byte) solve(mask, edges, closers, values, extraTurn);
+                }
+            });
+        }
+        return new DotsAndBoxesSolver(layout, extraTurn, ByteBuffer.wrap(values));
+    }
+
+    private static int solve(int mask, int edges, int[][] closers, byte[] values, boolean extraTurn) {
+        int best = Integer.MIN_VALUE;
+        for (int e = 0; e < edges; e++) {
+            int bit = 1 << e;
+            if ((mask & bit) != 0) continue;
+            int completed = 0;
+            for (int m : closers[e]) {
+                if ((mask & m) == m) completed++;
+            }
+            int next = values[mask | bit];
+            int score = completed > 0 && extraTurn ? completed + next : completed - next;
+            if (score > best) best = score;
+        }
+        return best;
+    }
+
+    private static int[][] masksByPopCount(int bits) {
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i <= bits; i++) buckets.add(new ArrayList<>());
+        for (int m = 0; m < 1 << bits; m++) buckets.get(Integer.bitCount(m)).add(m);
+        int[][] result = new int[bits + 1][];
+        for (int i = 0; i <= bits; i++) {
+            result[i] = buckets.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    // ---------- File ----------
+
+    public void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(tmp.toFile(), "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            ByteBuffer header = ByteBuffer.wrap(new byte[]{'D', 'B', 'S', VERSION,
+                    (byte) layout.rows, (byte) layout.cols, (byte) (extraTurnOnBox ? 1 : 0), 0});
+            while (header.hasRemaining()) channel.write(header);
+            ByteBuffer body = table.duplicate();
+            body.clear();
+            while (body.hasRemaining()) channel.write(body);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Memory-map a saved table (read-only).
+     */
+    public static DotsAndBoxesSolver load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            if (header.position() < HEADER_SIZE || header.get(0) != 'D' || header.get(1) != 'B'
+                    || header.get(2) != 'S' || header.get(3) != VERSION) {
+                throw new IOException("Not a Dots and Boxes solver table: " + file);
+            }
+            DotsAndBoxesLayout layout = new DotsAndBoxesLayout(header.get(4), header.get(5));
+            long size = 1L << layout.edgeCount;
+            if (channel.size() != HEADER_SIZE + size) {
+                throw new IOException("Truncated solver table: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            ByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+            return new DotsAndBoxesSolver(layout, header.get(6) != 0, table);
+        }
+    }
+
+    // ---------- Queries ----------
+
+    public DotsAndBoxesLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return best margin, for the side to move, over the boxes not yet claimed
+     */
+    public int value(DotsAndBoxesPosition pos) {
+        return table.get((int) pos.key());
+    }
+
+    /**
+     * @return an optimal edge for the side to move, or -1 if the board is full
+     */
+    public int bestEdge(DotsAndBoxesPosition pos) {
+        int mask = (int) pos.key();
+        int best = Integer.MIN_VALUE;
+        int bestEdge = -1;
+        for (int e = 0; e < layout.edgeCount; e++) {
+            if (pos.isDrawn(e)) continue;
+            int completed = pos.completions(e);
+            int next = table.get(mask | (1 << e));
+            int score = completed > 0 && extraTurnOnBox ? completed + next : completed - next;
+            if (score > best) {
+                best = score;
+                bestEdge = e;
+            }
+        }
+        return bestEdge;
+    }
+}
@@ -0,0 +1,233 @@
+package a2;
+
+import engine.TextUI;
+
+import java.util.Arrays;
+
+/**
+ * Dots and Boxes board for very large sizes (up to 1000x1000 boxes).
+ *
+ * DotsAndBoxesBoard keeps three int[][] arrays and a tile object per box,
+ * which is tens of bytes per box. Here every edge is 2 bits holding its
+ * owner (0 = not drawn, so the same words double as the "drawn" bitset),
+ * and every box is 2 bits holding its owner. There are no per-box objects:
+ * a 1000x1000 board takes about 750 KB.
+ *
+ * Edges use the DotsAndBoxesLayout numbering (horizontal first, then vertical),
+ * computed arithmetically instead of through lookup tables.
+ * render() only draws a viewport window of the board.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class GiantDotsAndBoxesBoard implements DotsAndBoxesGrid {
+    public static final int MAX_SIZE = 1000;
+    public static final int DEFAULT_VIEW = 10;  // boxes shown per side of the viewport
+
+    private final int rows;
+    private final int cols;
+    private final int horizontalCount;
+    private final long[] edgeOwners;  // 2 bits per edge, 32 edges per word
+    private final long[] boxOwners;   // 2 bits per box, 32 boxes per word
+
+    private final int[] scores = new int[3];
+    private long claimedBoxes;
+
+    private int viewRow;
+    private int viewCol;
+    private int viewHeight = DEFAULT_VIEW;
+    private int viewWidth = DEFAULT_VIEW;
+
+    public GiantDotsAndBoxesBoard(int rows, int cols) {
+        if (rows < 1 || cols < 1 || rows > MAX_SIZE || cols > MAX_SIZE) {
+            throw new IllegalArgumentException("Giant board must be between 1x1 and " + MAX_SIZE + "x" + MAX_SIZE);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.horizontalCount = (rows + 1) * cols;
+        int edges = horizontalCount + rows * (cols + 1);
+        this.edgeOwners = new long[(edges + 31) >>> 5];
+        this.boxOwners = new long[(int) (((long) rows * cols + 31) >>> 5)];
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Clear the board for a new game (no reallocation).
+     */
+    public void reset() {
+        Arrays.fill(edgeOwners, 0L);
+        Arrays.fill(boxOwners, 0L);
+        Arrays.fill(scores, 0);
+        claimedBoxes = 0;
+    }
+
+    // ---------- 2-bit fields ----------
+
+    private static int get2(long[] words, long index) {
+        return (int) (words[(int) (index >>> 5)] >>> ((index & 31) << 1)) & 3;
+    }
+
+    private static void set2(long[] words, long index, int value) {
+        int w = (int) (index >>> 5);
+        int shift = (int) (index & 31) << 1;
+        words[w] = (words[w] & ~(3L << shift)) | ((long) value << shift);
+    }
+
+    private int edgeIndex(int row, int col, boolean horizontal) {
+        if (horizontal) {
+            if (row < 0 || row > rows || col < 0 || col >= cols) return -1;
+            return row * cols + col;
+        }
+        if (row < 0 || row >= rows || col < 0 || col > cols) return -1;
+        return horizontalCount + row * (cols + 1) + col;
+    }
+
+    private boolean drawn(int row, int col, boolean horizontal) {
+        return get2(edgeOwners, edgeIndex(row, col, horizontal)) != 0;
+    }
+
+    // ---------- Game ----------
+
+    @Override
+    public boolean isEdgeFree(DotsAndBoxesMove move) {
+        int e = edgeIndex(move.getRow(), move.getCol(), move.isHorizontal());
+        return e >= 0 && get2(edgeOwners, e) == 0;
+    }
+
+    @Override
+    public int applyEdge(DotsAndBoxesMove move, int playerNumber) {
+        if (!isEdgeFree(move)) {
+            return 0;
+        }
+        int row = move.getRow();
+        int col = move.getCol();
+        set2(edgeOwners, edgeIndex(row, col, move.isHorizontal()), playerNumber);
+
+        int completed = 0;
+        if (move.isHorizontal()) {
+            if (row > 0) completed += claimIfComplete(row - 1, col, playerNumber);
+            if (row < rows) completed += claimIfComplete(row, col, playerNumber);
+        } else {
+            if (col > 0) completed += claimIfComplete(row, col - 1, playerNumber);
+            if (col < cols) completed += claimIfComplete(row, col, playerNumber);
+        }
+        return completed;
+    }
+
+    private int claimIfComplete(int row, int col, int playerNumber) {
+        if (!drawn(row, col, true) || !drawn(row + 1, col, true)
+                || !drawn(row, col, false) || !drawn(row, col + 1, false)) {
+            return 0;
+        }
+        set2(boxOwners, (long) row * cols + col, playerNumber);
+        scores[playerNumber]++;
+        claimedBoxes++;
+        return 1;
+    }
+
+    /**
+     * @return owner of a box (0 = unclaimed)
+     */
+    public int getBoxOwner(int row, int col) {
+        return get2(boxOwners, (long) row * cols + col);
+    }
+
+    @Override
+    public int getScore(int playerNumber) {
+        return playerNumber > 0 && playerNumber < scores.length ? scores[playerNumber] : 0;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return claimedBoxes == (long) rows * cols;
+    }
+
+    /**
+     * @return bytes held by the edge and owner arrays
+     */
+    public long getStorageBytes() {
+        return 8L * (edgeOwners.length + boxOwners.length);
+    }
+
+    // ---------- Viewport ----------
+
+    /**
+     * Show the window of boxes starting at (row, col); it is clamped to the board.
+     */
+    public void setViewport(int row, int col) {
+        viewRow = Math.max(0, Math.min(row, rows - Math.min(viewHeight, rows)));
+        viewCol = Math.max(0, Math.min(col, cols - Math.min(viewWidth, cols)));
+    }
+
+    public void setViewportSize(int height, int width) {
+        viewHeight = Math.max(1, height);
+        viewWidth = Math.max(1, width);
+        setViewport(viewRow, viewCol);
+    }
+
+    /**
+     * Move the viewport so it contains the given edge, centering on it if it was outside.
+     */
+    public void follow(DotsAndBoxesMove move) {
+        int r = move.getRow();
+        int c = move.getCol();
+        if (r < viewRow || r > viewRow + viewHeight || c < viewCol || c > viewCol + viewWidth) {
+            setViewport(r - viewHeight / 2, c - viewWidth / 2);
+        }
+    }
+
+    public String render() {
+        return render(null);
+    }
+
+    /**
+     * Render only the viewport, in the same style as DotsAndBoxesBoard.
+     */
+    @Override
+    public String render(TextUI ui) {
+        int lastRow = Math.min(rows, viewRow + viewHeight);
+        int lastCol = Math.min(cols, viewCol + viewWidth);
+        boolean color = ui != null && ui.isColor();
+
+        StringBuilder sb = new StringBuilder((lastRow - viewRow + 1) * (lastCol - viewCol + 1) * 10 + 64);
+        sb.append("Rows ").append(viewRow).append('-').append(lastRow - 1)
+                .append(", columns ").append(viewCol).append('-').append(lastCol - 1)
+                .append(" of ").append(rows).append('x').append(cols).append('\n');
+
+        for (int r = viewRow; r <= lastRow; r++) {
+            for (int c = viewCol; c < lastCol; c++) {
+                sb.append('+');
+                int owner = get2(edgeOwners, edgeIndex(r, c, true));
+                sb.append(owner == 0 ? "   " : paint(ui, color, "---", owner));
+            }
+            sb.append("+\n");
+
+            if (r < lastRow) {
+                for (int c = viewCol; c <= lastCol; c++) {
+                    int owner = get2(edgeOwners, edgeIndex(r, c, false));
+                    sb.append(owner == 0 ? " " : paint(ui, color, "|", owner));
+                    if (c < lastCol) {
+                        int box = getBoxOwner(r, c);
+                        sb.append(box == 0 ? "   " : paint(ui, color, " " + box + " ", box));
+                    }
+                }
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String paint(TextUI ui, boolean color, String s, int player) {
+        if (!color) return s;
+        return player == 1 ? ui.red(s) : ui.blue(s);
+    }
+}
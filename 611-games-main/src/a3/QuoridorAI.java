@@ -11,6 +11,7 @@ import java.util.*;
  */
 public class QuoridorAI {
     private static final int MAX_DEPTH = 3;
+    static final int WIN_SCORE = 1000;
     private static final Random random = new Random();
 
     public static class Action {
@@ -36,6 +37,19 @@ public class QuoridorAI {
         }
     }
 
+    /**
+     * An action together with its minimax value for the player who plays it.
+     */
+    public static class ScoredAction {
+        public final Action action;
+        public final int score;
+
+        ScoredAction(Action action, int score) {
+            this.action = action;
+            this.score = score;
+        }
+    }
+
     public static Action getBestAction(QuoridorBoard board, QuoridorRules rules,
                                        int playerIndex, int wallsRemaining, int difficulty) {
         if (difficulty == 1) {
@@ -47,6 +61,60 @@ public class QuoridorAI {
         }
     }
 
+    /**
+     * Minimax value of a position for the player to move (2-player games).
+     * Positive means playerIndex is ahead in the shortest-path race.
+     * @param playerIndex player to move (0-based)
+     * @param depth search depth in plies
+     */
+    public static int evaluatePosition(QuoridorBoard board, QuoridorRules rules,
+                                       int playerIndex, int wallsRemaining, int depth) {
+        int best = Integer.MIN_VALUE;
+        for (Action action : getAllValidActions(board, rules, playerIndex, wallsRemaining)) {
+            best = Math.max(best, evaluateAction(board, rules, playerIndex, action, depth));
+        }
+        return best == Integer.MIN_VALUE ? evaluateBoard(board, rules, playerIndex) : best;
+    }
+
+    /**
+     * Minimax value, from playerIndex's point of view, of playing the given action.
+     * The board itself is left untouched.
+     */
+    public static int evaluateAction(QuoridorBoard board, QuoridorRules rules,
+                                     int playerIndex, Action action, int depth) {
+        QuoridorBoard newBoard = board.copy();
+        applyAction(newBoard, action, playerIndex);
+        return minimax(newBoard, rules, depth - 1, false,
+                playerIndex, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Best action for the player to move, found with the same search as evaluatePosition.
+     */
+    public static Action findBestAction(QuoridorBoard board, QuoridorRules rules,
+                                        int playerIndex, int wallsRemaining, int depth) {
+        ScoredAction best = findBestScoredAction(board, rules, playerIndex, wallsRemaining, depth);
+        return best == null ? null : best.action;
+    }
+
+    /**
+     * Same as findBestAction, also returning the best action's value.
+     * @return null if the player has no valid action
+     */
+    public static ScoredAction findBestScoredAction(QuoridorBoard board, QuoridorRules rules,
+                                                    int playerIndex, int wallsRemaining, int depth) {
+        Action bestAction = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (Action action : getAllValidActions(board, rules, playerIndex, wallsRemaining)) {
+            int score = evaluateAction(board, rules, playerIndex, action, depth);
+            if (score > bestScore) {
+                bestScore = score;
+                bestAction = action;
+            }
+        }
+        return bestAction == null ? null : new ScoredAction(bestAction, bestScore);
+    }
+
     private static Action getRandomAction(QuoridorBoard board, QuoridorRules rules,
                                           int playerIndex, int wallsRemaining) {
         List<Action> validActions = getAllValidActions(board, rules, playerIndex, wallsRemaining);
@@ -69,7 +137,7 @@ public class QuoridorAI {
         for (Action action : validActions) {
             int distance;
             if (action.type == Action.Type.MOVE) {
-                distance = getDistanceToGoal(action.position, playerIndex, board.getSize());
+                distance = rules.shortestPathLength(action.position, playerIndex, 2, board);
             } else {
                 distance = evaluateWallPlacement(board, action.wall, playerIndex);
             }
@@ -85,34 +153,13 @@ public class QuoridorAI {
 
     private static Action getMinimaxAction(QuoridorBoard board, QuoridorRules rules,
                                            int playerIndex, int wallsRemaining) {
-        List<Action> validActions = getAllValidActions(board, rules, playerIndex, wallsRemaining);
-        if (validActions.isEmpty()) {
-            return null;
-        }
-
-        Action bestAction = null;
-        int bestScore = Integer.MIN_VALUE;
-
-        for (Action action : validActions) {
-            QuoridorBoard newBoard = board.copy();
-            applyAction(newBoard, action, playerIndex);
-
-            int score = minimax(newBoard, rules, MAX_DEPTH - 1, false,
-                    playerIndex, Integer.MIN_VALUE, Integer.MAX_VALUE);
-
-            if (score > bestScore) {
-                bestScore = score;
-                bestAction = action;
-            }
-        }
-
-        return bestAction;
+        return findBestAction(board, rules, playerIndex, wallsRemaining, MAX_DEPTH);
     }
 
     private static int minimax(QuoridorBoard board, QuoridorRules rules, int depth,
                                boolean maximizing, int playerIndex, int alpha, int beta) {
         if (depth == 0 || isGameOver(board, rules)) {
-            return evaluateBoard(board, playerIndex);
+            return evaluateBoard(board, rules, playerIndex);
         }
 
         if (maximizing) {
@@ -155,21 +202,14 @@ public class QuoridorAI {
         }
     }
 
-    private static List<Action> getAllValidActions(QuoridorBoard board, QuoridorRules rules,
-                                                   int playerIndex, int wallsRemaining) {
+    static List<Action> getAllValidActions(QuoridorBoard board, QuoridorRules rules,
+                                           int playerIndex, int wallsRemaining) {
         List<Action> actions = new ArrayList<>();
-        Position currentPos = board.getPlayerPosition(playerIndex);
-
-        // Add all valid moves
-        String[] directions = {"N", "S", "E", "W"};
-        for (String dir : directions) {
-            Position newPos = calculateNewPosition(currentPos, dir, board.getSize());
-            if (newPos != null) {
-                Position finalPos = rules.validateMove(currentPos, newPos, board, playerIndex);
-                if (finalPos != null) {
-                    actions.add(Action.move(finalPos, dir));
-                }
-            }
+        Position currentPos = board.getPlayerPosition(playerIndex + 1);
+
+        // Add all valid moves (including every jump / diagonal option)
+        for (Position finalPos : rules.getLegalDestinations(currentPos, board)) {
+            actions.add(Action.move(finalPos, directionOf(currentPos, finalPos)));
         }
 
         // Add valid wall placements (limit for performance)
@@ -194,59 +234,46 @@ public class QuoridorAI {
         return actions;
     }
 
-    private static Position calculateNewPosition(Position current, String direction, int boardSize) {
-        int row = current.row;
-        int col = current.col;
-
-        switch (direction) {
-            case "N":  row--; break;
-            case "S":  row++; break;
-            case "E":  col++; break;
-            case "W":  col--; break;
-            default: return null;
-        }
-
-        if (row >= 0 && row < boardSize && col >= 0 && col < boardSize) {
-            return new Position(row, col);
-        }
-        return null;
+    private static String directionOf(Position from, Position to) {
+        String dir = "";
+        if (to.row < from.row) dir += "N";
+        if (to.row > from.row) dir += "S";
+        if (to.col > from.col) dir += "E";
+        if (to.col < from.col) dir += "W";
+        return dir;
     }
 
-    private static void applyAction(QuoridorBoard board, Action action, int playerIndex) {
+    static void applyAction(QuoridorBoard board, Action action, int playerIndex) {
         if (action.type == Action.Type.MOVE) {
-            board.movePlayer(playerIndex, action.position);
+            board.movePlayer(playerIndex + 1, action.position);
         } else {
             board.placeWall(action.wall);
         }
     }
 
-    private static int evaluateBoard(QuoridorBoard board, int playerIndex) {
-        Position playerPos = board.getPlayerPosition(playerIndex);
-        Position opponentPos = board.getPlayerPosition((playerIndex + 1) % 2);
+    // Shortest-path race: positive when playerIndex is closer to its goal than the opponent.
+    static int evaluateBoard(QuoridorBoard board, QuoridorRules rules, int playerIndex) {
+        int opponentIndex = (playerIndex + 1) % 2;
+        Position playerPos = board.getPlayerPosition(playerIndex + 1);
+        Position opponentPos = board.getPlayerPosition(opponentIndex + 1);
 
-        int playerDistance = getDistanceToGoal(playerPos, playerIndex, board.getSize());
-        int opponentDistance = getDistanceToGoal(opponentPos, (playerIndex + 1) % 2, board.getSize());
+        int playerDistance = rules.shortestPathLength(playerPos, playerIndex, 2, board);
+        int opponentDistance = rules.shortestPathLength(opponentPos, opponentIndex, 2, board);
 
+        if (playerDistance == 0) return WIN_SCORE;
+        if (opponentDistance == 0) return -WIN_SCORE;
         return opponentDistance - playerDistance;
     }
 
-    private static int getDistanceToGoal(Position pos, int playerIndex, int boardSize) {
-        if (playerIndex == 0) {
-            return boardSize - 1 - pos.row;
-        } else {
-            return pos.row;
-        }
-    }
-
     private static int evaluateWallPlacement(QuoridorBoard board, WallPiece wall, int playerIndex) {
-        Position opponentPos = board.getPlayerPosition((playerIndex + 1) % 2);
+        Position opponentPos = board.getPlayerPosition((playerIndex + 1) % 2 + 1);
         return Math.abs(wall.getPosition().row - opponentPos.row) +
                 Math.abs(wall.getPosition().col - opponentPos.col);
     }
 
     private static boolean isGameOver(QuoridorBoard board, QuoridorRules rules) {
         for (int i = 0; i < 2; i++) {
-            Position pos = board.getPlayerPosition(i);
+            Position pos = board.getPlayerPosition(i + 1);
             if (pos != null && rules.hasWon(pos, i, 2)) {
                 return true;
             }
@@ -0,0 +1,176 @@
+package a3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Post-game blunder analysis for a recorded Quoridor game.
+ *
+ * Every position of the game is re-searched with QuoridorAI at a fixed depth
+ * and compared against the action that was actually played. Positions are
+ * independent, so each one is its own fork-join task and a whole game takes
+ * roughly as long as its slowest position instead of the sum of all of them.
+ *
+ * Only 2-player games are supported, because the AI evaluation is a 2-player race.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-27
+ */
+public class QuoridorAnalyzer {
+    public static final int DEFAULT_DEPTH = 2;
+    public static final int BLUNDER_THRESHOLD = 2;  // shortest-path steps lost
+
+    private final int depth;
+    private final ForkJoinPool pool;
+
+    public QuoridorAnalyzer() {
+        this(DEFAULT_DEPTH, ForkJoinPool.commonPool());
+    }
+
+    public QuoridorAnalyzer(int depth, ForkJoinPool pool) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Analysis depth must be at least 1");
+        }
+        this.depth = depth;
+        this.pool = pool;
+    }
+
+    /**
+     * Analyse every action of a finished game.
+     * @return one entry per action, in play order
+     */
+    public List<MoveAnalysis> analyze(QuoridorRecord record) {
+        if (record.getNumPlayers() != 2) {
+            throw new IllegalArgumentException("Blunder analysis only supports 2-player games");
+        }
+
+        // Replaying is cheap and sequential; the searches are what we parallelise.
+        List<PositionTask> tasks = new ArrayList<>(record.size());
+        QuoridorState state = record.stateAt(0);
+        for (int i = 0; i < record.size(); i++) {
+            tasks.add(new PositionTask(i, record.getCode(i), state.copy()));
+            state.apply(record.getCode(i));
+        }
+
+        return pool.invoke(new GameTask(tasks));
+    }
+
+    /**
+     * Human-readable form of an action code, matching the in-game commands.
+     */
+    public static String describe(int code) {
+        if (QuoridorRecord.isWall(code)) {
+            WallPiece wall = QuoridorRecord.decodeWall(code, 0);
+            Position p = wall.getPosition();
+            return "W " + p.row + " " + p.col + " " + (wall.isHorizontal() ? "H" : "V");
+        }
+        return "M to " + QuoridorRecord.decodeSquare(code);
+    }
+
+    private static QuoridorAI.Action toAction(int code, int playerNumber) {
+        if (QuoridorRecord.isWall(code)) {
+            return QuoridorAI.Action.wall(QuoridorRecord.decodeWall(code, playerNumber));
+        }
+        return QuoridorAI.Action.move(QuoridorRecord.decodeSquare(code), null);
+    }
+
+    private static int toCode(QuoridorAI.Action action) {
+        if (action.type == QuoridorAI.Action.Type.WALL) {
+            return QuoridorRecord.encodeWall(action.wall);
+        }
+        return QuoridorRecord.encodeMove(action.position);
+    }
+
+    // Forks one task per position and joins them in order.
+    private static class GameTask extends RecursiveTask<List<MoveAnalysis>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<PositionTask> tasks;
+
+        GameTask(List<PositionTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected List<MoveAnalysis> compute() {
+            invokeAll(tasks);
+            List<MoveAnalysis> results = new ArrayList<>(tasks.size());
+            for (PositionTask task : tasks) {
+                results.add(task.join());
+            }
+            return results;
+        }
+    }
+
+    private class PositionTask extends RecursiveTask<MoveAnalysis> {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final int code;
+        private final QuoridorState state;
+
+        PositionTask(int index, int code, QuoridorState state) {
+            this.index = index;
+            this.code = code;
+            this.state = state;
+        }
+
+        @Override
+        protected MoveAnalysis compute() {
+            QuoridorBoard board = state.getBoard();
+            QuoridorRules rules = new QuoridorRules(board);  // one per task, nothing shared between threads
+            int side = state.getSideToMove();
+            int walls = state.getWallsRemaining(side);
+
+            QuoridorAI.ScoredAction best = QuoridorAI.findBestScoredAction(board, rules, side, walls, depth);
+            int playedScore = QuoridorAI.evaluateAction(board, rules, side, toAction(code, side + 1), depth);
+
+            // The AI only generates a sample of walls, so the played action can beat its "best".
+            if (best == null || playedScore > best.score) {
+                return new MoveAnalysis(index, side, code, playedScore, playedScore, code);
+            }
+            return new MoveAnalysis(index, side, code, best.score, playedScore, toCode(best.action));
+        }
+    }
+
+    /**
+     * Result for one action of the game.
+     */
+    public static class MoveAnalysis {
+        public final int index;        // action number (0-based)
+        public final int playerIndex;  // who played it (0-based)
+        public final int playedCode;
+        public final int bestScore;
+        public final int playedScore;
+        public final int bestCode;
+
+        MoveAnalysis(int index, int playerIndex, int playedCode,
+                     int bestScore, int playedScore, int bestCode) {
+            this.index = index;
+            this.playerIndex = playerIndex;
+            this.playedCode = playedCode;
+            this.bestScore = bestScore;
+            this.playedScore = playedScore;
+            this.bestCode = bestCode;
+        }
+
+        /**
+         * @return how much evaluation the played action gave away (0 = best move)
+         */
+        public int getLoss() {
+            return bestScore - playedScore;
+        }
+
+        public boolean isBlunder() {
+            return getLoss() >= BLUNDER_THRESHOLD;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d P%d %s (loss %d, best %s)", index + 1, playerIndex + 1,
+                    describe(playedCode), getLoss(), describe(bestCode));
+        }
+    }
+}
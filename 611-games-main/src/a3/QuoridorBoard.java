@@ -258,6 +258,27 @@ public class QuoridorBoard extends Board {
         return renderWithColor(new engine.TextUI());
     }
 
+    /**
+     * Clear all pawns and walls so the board can be reused (e.g. when
+     * replaying many recorded games). Tiles are reused instead of reallocated.
+     */
+    @Override
+    public void reset() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                QuoridorTile tile = (QuoridorTile) grid[r][c];
+                tile.setPiece(null);
+                tile.setWallNorth(false);
+                tile.setWallSouth(false);
+                tile.setWallEast(false);
+                tile.setWallWest(false);
+            }
+        }
+        pawns.clear();
+        walls.clear();
+        pawnPositions.clear();
+    }
+
     public QuoridorBoard copy() {
         QuoridorBoard copy = new QuoridorBoard();
         for (Map.Entry<Integer, Position> entry : pawnPositions.entrySet()) {
@@ -267,7 +288,7 @@ public class QuoridorBoard extends Board {
             copy.placePawn(pawnCopy, pos.row, pos.col);
         }
         for (WallPiece wall : walls) {
-            copy.placeWall(new WallPiece(wall.getPosition(), wall.isHorizontal()));
+            copy.placeWall(wall);  // walls are immutable, so they can be shared (keeps owner colors)
         }
         return copy;
     }
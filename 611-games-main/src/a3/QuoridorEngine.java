@@ -0,0 +1,324 @@
+package a3;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Headless, line-based engine protocol for QuoridorAI, in the style of UCI,
+ * so tournament harnesses and GUIs can drive the AI over stdin/stdout.
+ *
+ * Notation: files a-i are columns 0-8, ranks 1-9 are rows 0-8.
+ *   pawn move  "e2"   - destination square
+ *   wall       "d4h"  - wall whose top-left corner is square d4 (h = horizontal, v = vertical)
+ *
+ * Commands:
+ *   uci                          -> id lines, then "uciok"
+ *   isready                      -> "readyok"
+ *   ucinewgame                   -> reset to the starting position
+ *   position startpos [moves m1 m2 ...]
+ *   go [depth d] [nodes n] [movetime ms] [wtime ms] [btime ms] [infinite]
+ *                                -> "info depth .. score cp .. nodes .. nps .. time .. pv .." lines,
+ *                                   "info string stats {json}" (see SearchStats), then "bestmove m"
+ *   stop                         -> finish the running search now
+ *   d                            -> print the board (debugging)
+ *   quit
+ *
+ * Only 2-player games are supported, like the AI itself.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class QuoridorEngine {
+    private static final int NUM_PLAYERS = 2;
+    private static final int WALLS_PER_PLAYER = 10;
+    private static final int DEFAULT_DEPTH = 3;
+    private static final int MOVES_TO_GO = 30;  // time management: spend 1/30 of the clock
+
+    private final BufferedReader in;
+    private final BufferedWriter out;
+    private final QuoridorState state = new QuoridorState(NUM_PLAYERS, new int[]{WALLS_PER_PLAYER, WALLS_PER_PLAYER});
+    private final QuoridorRules rules = new QuoridorRules(state.getBoard());
+    private final StringBuilder line = new StringBuilder(256);  // reused for every output line
+
+    private Thread searchThread;
+    private QuoridorSearch search;  // one per "go"
+
+    public QuoridorEngine(InputStream in, OutputStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Read and execute commands until "quit" or end of input.
+     */
+    public void run() throws IOException {
+        String raw;
+        while ((raw = in.readLine()) != null) {
+            Tokenizer tok = new Tokenizer(raw);
+            String cmd = tok.next();
+            if (cmd == null) continue;
+
+            switch (cmd) {
+                case "uci":
+                    send("id name CS611 Quoridor");
+                    send("id author Zhuojun Lyu and Priyanshu Singh");
+                    send("uciok");
+                    break;
+                case "isready":
+                    send("readyok");
+                    break;
+                case "ucinewgame":
+                    resetPosition();
+                    break;
+                case "position":
+                    handlePosition(tok);
+                    break;
+                case "go":
+                    handleGo(tok);
+                    break;
+                case "stop":
+                    stopSearch();
+                    break;
+                case "d":
+                    send(state.getBoard().render());
+                    break;
+                case "quit":
+                    stopSearch();
+                    return;
+                default:
+                    send("info string unknown command " + cmd);
+                    break;
+            }
+        }
+        stopSearch();
+    }
+
+    // ---------- Commands ----------
+
+    private void handlePosition(Tokenizer tok) {
+        String kind = tok.next();
+        if (!"startpos".equals(kind)) {
+            send("info string only 'position startpos' is supported");
+            return;
+        }
+        resetPosition();
+        if (!"moves".equals(tok.next())) return;
+
+        String move;
+        while ((move = tok.next()) != null) {
+            int code = parseMove(move);
+            if (code < 0 || !isLegal(code)) {
+                send("info string illegal move " + move);
+                return;
+            }
+            state.apply(code);
+        }
+    }
+
+    private void handleGo(Tokenizer tok) {
+        if (searchThread != null && searchThread.isAlive()) {
+            send("info string search already running");
+            return;
+        }
+        int depth = DEFAULT_DEPTH;
+        long nodes = 0;
+        long movetime = 0;
+        long[] clock = new long[NUM_PLAYERS];
+        boolean infinite = false;
+
+        String key;
+        while ((key = tok.next()) != null) {
+            switch (key) {
+                case "depth":    depth = (int) tok.nextLong(depth); break;
+                case "nodes":    nodes = tok.nextLong(0); depth = QuoridorSearch.MAX_DEPTH; break;
+                case "movetime": movetime = tok.nextLong(0); depth = QuoridorSearch.MAX_DEPTH; break;
+                case "wtime":    clock[0] = tok.nextLong(0); break;
+                case "btime":    clock[1] = tok.nextLong(0); break;
+                case "infinite": infinite = true; depth = QuoridorSearch.MAX_DEPTH; break;
+                default:         break;  // ignore unknown tokens, like UCI engines do
+            }
+        }
+        int side = state.getSideToMove();
+        if (movetime == 0 && !infinite && clock[side] > 0) {
+            movetime = Math.max(1, clock[side] / MOVES_TO_GO);
+            depth = QuoridorSearch.MAX_DEPTH;
+        }
+
+        final int maxDepth = depth;
+        final long maxNodes = nodes;
+        final long maxTime = movetime;
+        final QuoridorState root = state.copy();  // later "position" commands must not disturb the search
+        final QuoridorSearch current = new QuoridorSearch();
+        search = current;
+        searchThread = new Thread(() -> runSearch(current, root, maxDepth, maxNodes, maxTime), "quoridor-search");
+        searchThread.setDaemon(true);
+        searchThread.start();
+    }
+
+    private void runSearch(QuoridorSearch search, QuoridorState root, int depth, long nodes, long movetime) {
+        QuoridorAI.Action best = search.search(root, depth, nodes, movetime,
+                (d, score, n, ms, pv) -> sendInfo(d, score, n, ms, pv));
+        synchronized (this) {
+            line.setLength(0);
+            line.append("info string stats ").append(search.getStats().toJson());
+            flushLine();
+            line.setLength(0);
+            line.append("bestmove ");
+            if (best == null) {
+                line.append("(none)");
+            } else {
+                appendMove(line, toCode(best));
+            }
+            flushLine();
+        }
+    }
+
+    private synchronized void sendInfo(int depth, int score, long nodes, long ms, List<QuoridorAI.Action> pv) {
+        line.setLength(0);
+        line.append("info depth ").append(depth)
+                .append(" score cp ").append(score)
+                .append(" nodes ").append(nodes)
+                .append(" nps ").append(ms > 0 ? nodes * 1000 / ms : nodes * 1000)
+                .append(" time ").append(ms)
+                .append(" pv");
+        for (QuoridorAI.Action action : pv) {
+            line.append(' ');
+            appendMove(line, toCode(action));
+        }
+        flushLine();
+    }
+
+    private void stopSearch() {
+        if (searchThread != null) {
+            search.stop();
+            waitForSearch();
+        }
+    }
+
+    private void waitForSearch() {
+        if (searchThread == null) return;
+        try {
+            searchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    private void resetPosition() {
+        state.reset(NUM_PLAYERS, new int[]{WALLS_PER_PLAYER, WALLS_PER_PLAYER});
+    }
+
+    private boolean isLegal(int code) {
+        int side = state.getSideToMove();
+        QuoridorBoard board = state.getBoard();
+        if (QuoridorRecord.isWall(code)) {
+            return state.getWallsRemaining(side) > 0
+                    && rules.canPlaceWall(QuoridorRecord.decodeWall(code, side + 1), board);
+        }
+        Position to = QuoridorRecord.decodeSquare(code);
+        return rules.getLegalDestinations(board.getPawnPosition(side + 1), board).contains(to);
+    }
+
+    // ---------- Output ----------
+
+    private synchronized void send(String s) {
+        line.setLength(0);
+        line.append(s);
+        flushLine();
+    }
+
+    // Every line is flushed immediately so the controller sees output as it is produced.
+    private void flushLine() {
+        line.append('\n');
+        try {
+            for (int i = 0; i < line.length(); i++) {
+                out.write(line.charAt(i));
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- Notation ----------
+
+    private static int toCode(QuoridorAI.Action action) {
+        return action.type == QuoridorAI.Action.Type.WALL
+                ? QuoridorRecord.encodeWall(action.wall)
+                : QuoridorRecord.encodeMove(action.position);
+    }
+
+    /**
+     * Append the notation of an action code ("e2", "d4h").
+     */
+    static void appendMove(StringBuilder sb, int code) {
+        if (QuoridorRecord.isWall(code)) {
+            WallPiece wall = QuoridorRecord.decodeWall(code, 0);
+            Position p = wall.getPosition();
+            sb.append((char) ('a' + p.col)).append((char) ('1' + p.row)).append(wall.isHorizontal() ? 'h' : 'v');
+        } else {
+            Position p = QuoridorRecord.decodeSquare(code);
+            sb.append((char) ('a' + p.col)).append((char) ('1' + p.row));
+        }
+    }
+
+    /**
+     * Parse "e2" / "d4h" / "d4v" into an action code, without regex or allocation.
+     * @return the code, or -1 if the text is not a well-formed action
+     */
+    static int parseMove(String s) {
+        if (s.length() != 2 && s.length() != 3) return -1;
+        int col = s.charAt(0) - 'a';
+        int row = s.charAt(1) - '1';
+        if (s.length() == 2) {
+            if (col < 0 || col > 8 || row < 0 || row > 8) return -1;
+            return QuoridorRecord.moveCode(row, col);
+        }
+        if (col < 0 || col > 7 || row < 0 || row > 7) return -1;
+        char o = s.charAt(2);
+        if (o != 'h' && o != 'v') return -1;
+        return QuoridorRecord.wallCode(row, col, o == 'h');
+    }
+
+    /**
+     * Splits a command line on spaces without regex.
+     */
+    private static class Tokenizer {
+        private final String s;
+        private int pos;
+
+        Tokenizer(String s) {
+            this.s = s;
+        }
+
+        String next() {
+            int n = s.length();
+            while (pos < n && s.charAt(pos) <= ' ') pos++;
+            if (pos >= n) return null;
+            int start = pos;
+            while (pos < n && s.charAt(pos) > ' ') pos++;
+            return s.substring(start, pos);
+        }
+
+        long nextLong(long fallback) {
+            String t = next();
+            if (t == null) return fallback;
+            long value = 0;
+            for (int i = 0; i < t.length(); i++) {
+                char c = t.charAt(i);
+                if (c < '0' || c > '9') return fallback;
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+    }
+}
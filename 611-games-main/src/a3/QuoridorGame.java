@@ -25,6 +25,8 @@ public class QuoridorGame extends Game {
     private final Map<Player, Integer> wallsRemaining = new HashMap<>();
     private final InputValidator validator;
     private Player winner = null;
+    private QuoridorRecord record;  // every successful action, in play order
+    private QuoridorLegalCache legal;  // legal actions of the side to move, reset after each action
 
     // Optional: for global statistics aggregation
     private final Statistics stats;
@@ -85,6 +87,7 @@ public class QuoridorGame extends Game {
     protected void initializeGame() {
         board = new QuoridorBoard();
         rules = new QuoridorRules(board);
+        legal = new QuoridorLegalCache(board, rules);
 
         // Place pawns according to player count
         board.initializePawns(players.size());
@@ -94,6 +97,7 @@ public class QuoridorGame extends Game {
         for (Player p : players) {
             wallsRemaining.put(p, per);
         }
+        record = new QuoridorRecord(players.size(), per);
 
         ui.println("\n" + ui.bold("Game Started!"));
         ui.println("Each player gets " + per + " walls.");
@@ -172,7 +176,7 @@ public class QuoridorGame extends Game {
 
         ui.println("\n" + ui.cyan(currentPlayer.getName() + "'s turn (Player " + n + ")"));
         ui.println("Walls remaining: " + wallsRemaining.getOrDefault(currentPlayer, 0));
-        ui.println("Enter: [M]ove <dir>, [W]all <r> <c> <H/V>, [H]elp, [Q]uit");
+        ui.println("Enter: [M]ove <dir>, [W]all <r> <c> <H/V>, [L]egal actions, [H]elp, [Q]uit");
         ui.print("> ");
 
         String raw = ui.nextLine().trim();
@@ -185,6 +189,10 @@ public class QuoridorGame extends Game {
             displayHelp();
             return TurnResult.retry();
         }
+        if (raw.equalsIgnoreCase("l")) {
+            displayLegalActions(currentPlayer);
+            return TurnResult.retry();
+        }
 
         String[] tok = raw.split("\\s+");
         String action = tok[0].toUpperCase(Locale.ROOT);
@@ -203,13 +211,18 @@ public class QuoridorGame extends Game {
                 return TurnResult.retry();
             }
 
-            Position finalPos = rules.validateMove(cur, target, board, n);
+            // Plain steps are answered from the cache; jumps may need the player's diagonal choice
+            Position finalPos = legal.isLegalDestination(n, target)
+                    ? target
+                    : rules.validateMove(cur, target, board, n);
             if (finalPos == null) {
                 ui.println(ui.red("Invalid move. Check for walls, bounds, or jump rules."));
                 return TurnResult.retry();
             }
 
             board.movePawn(n, finalPos.row, finalPos.col);
+            record.appendMove(finalPos);
+            legal.invalidate();
             currentPlayer.addScore(1); // count actions/moves if you like
             return TurnResult.success();
         }
@@ -239,14 +252,15 @@ public class QuoridorGame extends Game {
                 return TurnResult.retry();
             }
 
-            WallPiece wall = new WallPiece(new Position(r, c), ori, n);
-
-            if (!rules.canPlaceWall(wall, board)) {
+            if (!legal.isLegalWall(n, r, c, ori == 'H')) {
                 ui.println(ui.red("Invalid wall placement. Walls cannot overlap or block all paths."));
                 return TurnResult.retry();
             }
 
+            WallPiece wall = new WallPiece(new Position(r, c), ori, n);
             board.placeWall(wall);
+            record.appendWall(wall);
+            legal.invalidate();
             wallsRemaining.put(currentPlayer, left - 1);
             currentPlayer.addScore(1); // count actions if desired
             return TurnResult.success();
@@ -256,6 +270,42 @@ public class QuoridorGame extends Game {
         return TurnResult.retry();
     }
 
+    // Hint display: every legal pawn destination and wall for the current player.
+    private void displayLegalActions(Player currentPlayer) {
+        int n = currentPlayer.getPlayerNumber();
+        Position cur = board.getPawnPosition(n);
+
+        StringBuilder moves = new StringBuilder("Legal moves:");
+        for (Position to : legal.getDestinations(n)) {
+            moves.append(' ').append(to).append(" (").append(directionOf(cur, to)).append(')');
+        }
+        ui.println(moves.toString());
+
+        if (wallsRemaining.getOrDefault(currentPlayer, 0) <= 0) {
+            ui.println("Legal walls: none (no walls remaining)");
+            return;
+        }
+        List<WallPiece> walls = legal.getLegalWalls(n);
+        ui.println("Legal walls (" + walls.size() + "), as <r> <c> <H/V>:");
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < walls.size(); i++) {
+            WallPiece w = walls.get(i);
+            line.append(String.format("  %d %d %s", w.getPosition().row, w.getPosition().col,
+                    w.isHorizontal() ? "H" : "V"));
+            if (i % 8 == 7 || i == walls.size() - 1) {
+                ui.println(line.toString());
+                line.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * The binary record of the current (or just finished) game.
+     */
+    public QuoridorRecord getRecord() {
+        return record;
+    }
+
     // We still implement abstract methods, but in our custom loop we don't rely on them.
     @Override
     protected boolean processTurn() {
@@ -331,6 +381,28 @@ public class QuoridorGame extends Game {
         for (Player p : players) {
             ui.println(p.getStatsSummary());
         }
+
+        offerAnalysis();
+    }
+
+    // Optional post-game blunder check (2-player games only).
+    private void offerAnalysis() {
+        if (record == null || record.size() == 0 || players.size() != 2) return;
+
+        ui.print("\nAnalyse this game for blunders? (y/N): ");
+        if (!ui.nextLine().trim().equalsIgnoreCase("y")) return;
+
+        ui.println("Analysing " + record.size() + " positions...");
+        int blunders = 0;
+        for (QuoridorAnalyzer.MoveAnalysis m : new QuoridorAnalyzer().analyze(record)) {
+            if (m.isBlunder()) {
+                ui.println(ui.yellow("  " + players.get(m.playerIndex).getName() + " " + m));
+                blunders++;
+            }
+        }
+        if (blunders == 0) {
+            ui.println(ui.green("No blunders found. Well played!"));
+        }
     }
 
     @Override
@@ -340,6 +412,7 @@ public class QuoridorGame extends Game {
         ui.println("\nCOMMANDS:");
         ui.println("  M <dir>       - Move pawn (N/S/E/W)");
         ui.println("  W <r> <c> <o> - Place wall at row r, column c (o = H/V)");
+        ui.println("  L             - List your legal moves and walls");
         ui.println("  H             - Show this help");
         ui.println("  Q             - Quit game");
         ui.println("\nRULES:");
@@ -362,6 +435,15 @@ public class QuoridorGame extends Game {
     }
 
     // Helpers
+    private static String directionOf(Position from, Position to) {
+        String dir = "";
+        if (to.row < from.row) dir += "N";
+        if (to.row > from.row) dir += "S";
+        if (to.col > from.col) dir += "E";
+        if (to.col < from.col) dir += "W";
+        return dir;
+    }
+
     private Position calculateNewPosition(Position current, String direction) {
         if (current == null) return null;
         switch (direction) {
@@ -0,0 +1,104 @@
+package a3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Legal actions of the side to move, computed once per turn.
+ *
+ * Pawn destinations are computed on first use; the wall bitset (one bit per
+ * wall code - 128, see QuoridorRecord) is computed separately on first use,
+ * because it costs a board copy and path BFS per candidate wall. After that,
+ * checking a command or listing hints is a table lookup until invalidate()
+ * is called, which the game does after every successful action.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+class QuoridorLegalCache {
+    private static final int BOARD_SIZE = 9;
+    private static final int WALL_GRID = BOARD_SIZE - 1;
+    private static final int WALL_BASE = 128;
+
+    private final QuoridorBoard board;
+    private final QuoridorRules rules;
+
+    private int playerNumber;  // whose actions are cached, 0 = nothing cached
+    private final List<Position> destinations = new ArrayList<>();
+    private final long[] wallBits = new long[2];
+    private boolean wallsReady;
+
+    QuoridorLegalCache(QuoridorBoard board, QuoridorRules rules) {
+        this.board = board;
+        this.rules = rules;
+    }
+
+    /**
+     * Forget everything; call after the board has changed.
+     */
+    void invalidate() {
+        playerNumber = 0;
+        wallsReady = false;
+    }
+
+    /**
+     * @return every square the player's pawn may move to (do not modify)
+     */
+    List<Position> getDestinations(int playerNumber) {
+        select(playerNumber);
+        return destinations;
+    }
+
+    boolean isLegalDestination(int playerNumber, Position to) {
+        return getDestinations(playerNumber).contains(to);
+    }
+
+    /**
+     * Legality of a wall by position only (the wall budget is checked by the caller).
+     */
+    boolean isLegalWall(int playerNumber, int row, int col, boolean horizontal) {
+        if (row < 0 || row >= WALL_GRID || col < 0 || col >= WALL_GRID) return false;
+        select(playerNumber);
+        computeWalls();
+        int bit = QuoridorRecord.wallCode(row, col, horizontal) - WALL_BASE;
+        return (wallBits[bit >> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @return every legal wall for the player, in code order
+     */
+    List<WallPiece> getLegalWalls(int playerNumber) {
+        select(playerNumber);
+        computeWalls();
+        List<WallPiece> walls = new ArrayList<>(Long.bitCount(wallBits[0]) + Long.bitCount(wallBits[1]));
+        for (int word = 0; word < 2; word++) {
+            long bits = wallBits[word];
+            while (bits != 0) {
+                int bit = word * 64 + Long.numberOfTrailingZeros(bits);
+                walls.add(QuoridorRecord.decodeWall(WALL_BASE + bit, playerNumber));
+                bits &= bits - 1;
+            }
+        }
+        return walls;
+    }
+
+    private void select(int playerNumber) {
+        if (this.playerNumber == playerNumber) return;
+        this.playerNumber = playerNumber;
+        wallsReady = false;
+        destinations.clear();
+        destinations.addAll(rules.getLegalDestinations(board.getPawnPosition(playerNumber), board));
+    }
+
+    private void computeWalls() {
+        if (wallsReady) return;
+        wallBits[0] = 0;
+        wallBits[1] = 0;
+        for (int bit = 0; bit < 2 * WALL_GRID * WALL_GRID; bit++) {
+            if (rules.canPlaceWall(QuoridorRecord.decodeWall(WALL_BASE + bit, playerNumber), board)) {
+                wallBits[bit >> 6] |= 1L << bit;
+            }
+        }
+        wallsReady = true;
+    }
+}
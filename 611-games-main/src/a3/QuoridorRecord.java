@@ -0,0 +1,268 @@
+package a3;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary record of one Quoridor game.
+ *
+ * Every action takes exactly one byte:
+ *   0..80     pawn move, destination square (row * 9 + col)
+ *   128..191  horizontal wall, 128 + (row * 8 + col)
+ *   192..255  vertical wall,   192 + (row * 8 + col)
+ * The player is not stored: turns only rotate after a valid action,
+ * so action i always belongs to player index (i % numPlayers).
+ *
+ * Serialized layout (records can simply be appended to one archive file):
+ *   'Q', version, numPlayers, wallBudget[numPlayers], moveCount (u16), moves[moveCount]
+ *
+ * Replaying keeps a snapshot every SNAPSHOT_INTERVAL actions, so seeking
+ * to any action only replays at most SNAPSHOT_INTERVAL - 1 actions.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-27
+ */
+public class QuoridorRecord {
+    public static final int MAGIC = 'Q';
+    public static final int VERSION = 1;
+    public static final int MAX_MOVES = 0xFFFF;
+    static final int SNAPSHOT_INTERVAL = 16;
+
+    private static final int BOARD_SIZE = 9;
+    private static final int WALL_GRID = BOARD_SIZE - 1;
+    private static final int WALL_BASE = 128;
+    private static final int VERTICAL_OFFSET = WALL_GRID * WALL_GRID;
+
+    // Decoding tables, so replaying does not allocate positions/walls per action
+    private static final Position[] SQUARES = new Position[BOARD_SIZE * BOARD_SIZE];
+    private static final WallPiece[][] WALLS = new WallPiece[5][2 * VERTICAL_OFFSET];
+
+    static {
+        for (int i = 0; i < SQUARES.length; i++) {
+            SQUARES[i] = new Position(i / BOARD_SIZE, i % BOARD_SIZE);
+        }
+        for (int owner = 0; owner < WALLS.length; owner++) {
+            for (int i = 0; i < WALLS[owner].length; i++) {
+                int slot = i % VERTICAL_OFFSET;
+                char orientation = i < VERTICAL_OFFSET ? 'H' : 'V';
+                WALLS[owner][i] = new WallPiece(
+                        new Position(slot / WALL_GRID, slot % WALL_GRID), orientation, owner);
+            }
+        }
+    }
+
+    private int numPlayers;
+    private int[] wallBudgets;
+    private byte[] moves = new byte[64];
+    private int size;
+
+    // snapshots.get(k) is the state after k * SNAPSHOT_INTERVAL actions (built lazily)
+    private final List<QuoridorState> snapshots = new ArrayList<>();
+
+    /**
+     * Start an empty record for a new game.
+     * @param numPlayers 2 or 4
+     * @param wallsPerPlayer starting walls for every player
+     */
+    public QuoridorRecord(int numPlayers, int wallsPerPlayer) {
+        int[] budgets = new int[numPlayers];
+        Arrays.fill(budgets, wallsPerPlayer);
+        setHeader(numPlayers, budgets);
+    }
+
+    // Used by the streaming reader, which fills a reused instance.
+    QuoridorRecord() {
+        this.numPlayers = 0;
+        this.wallBudgets = new int[0];
+    }
+
+    private void setHeader(int numPlayers, int[] budgets) {
+        if (numPlayers != 2 && numPlayers != 4) {
+            throw new IllegalArgumentException("Quoridor needs 2 or 4 players, got " + numPlayers);
+        }
+        this.numPlayers = numPlayers;
+        this.wallBudgets = budgets;
+        this.size = 0;
+        snapshots.clear();
+    }
+
+    // ---------- Action codes ----------
+
+    public static int encodeMove(Position to) {
+        return moveCode(to.row, to.col);
+    }
+
+    public static int encodeWall(WallPiece wall) {
+        Position p = wall.getPosition();
+        return wallCode(p.row, p.col, wall.isHorizontal());
+    }
+
+    public static int moveCode(int row, int col) {
+        return row * BOARD_SIZE + col;
+    }
+
+    public static int wallCode(int row, int col, boolean horizontal) {
+        int slot = row * WALL_GRID + col;
+        return WALL_BASE + (horizontal ? slot : VERTICAL_OFFSET + slot);
+    }
+
+    public static boolean isWall(int code) {
+        return code >= WALL_BASE;
+    }
+
+    public static Position decodeSquare(int code) {
+        return SQUARES[code];
+    }
+
+    /**
+     * @param owner player number (1-4) the wall is drawn for
+     */
+    public static WallPiece decodeWall(int code, int owner) {
+        return WALLS[owner][code - WALL_BASE];
+    }
+
+    // ---------- Recording ----------
+
+    public void appendMove(Position to) {
+        append(encodeMove(to));
+    }
+
+    public void appendWall(WallPiece wall) {
+        append(encodeWall(wall));
+    }
+
+    public void append(int code) {
+        if (size == MAX_MOVES) {
+            throw new IllegalStateException("Game record is full (" + MAX_MOVES + " actions)");
+        }
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, Math.min(MAX_MOVES, moves.length * 2));
+        }
+        moves[size++] = (byte) code;
+    }
+
+    /**
+     * @return action code at index i (0-based)
+     */
+    public int getCode(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Action " + i + " of " + size);
+        }
+        return moves[i] & 0xFF;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    public int getWallBudget(int playerIndex) {
+        return wallBudgets[playerIndex];
+    }
+
+    // ---------- Replay ----------
+
+    /**
+     * Build the position before action n (n == size() gives the final position).
+     * Starts from the nearest snapshot and records new snapshots on the way.
+     * @return a fresh state the caller is free to modify
+     */
+    public QuoridorState stateAt(int n) {
+        if (n < 0 || n > size) {
+            throw new IndexOutOfBoundsException("Position " + n + " of " + size);
+        }
+        if (snapshots.isEmpty()) {
+            snapshots.add(new QuoridorState(numPlayers, wallBudgets));
+        }
+
+        int k = Math.min(n / SNAPSHOT_INTERVAL, snapshots.size() - 1);
+        QuoridorState state = snapshots.get(k).copy();
+        for (int i = k * SNAPSHOT_INTERVAL; i < n; i++) {
+            state.apply(moves[i] & 0xFF);
+            if ((i + 1) % SNAPSHOT_INTERVAL == 0 && (i + 1) / SNAPSHOT_INTERVAL == snapshots.size()) {
+                snapshots.add(state.copy());
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Replay the whole game through the given state without taking snapshots.
+     * The state is reset first, so one scratch state can be reused for many records.
+     */
+    public void replay(QuoridorState scratch, Visitor visitor) {
+        scratch.reset(numPlayers, wallBudgets);
+        for (int i = 0; i < size; i++) {
+            int code = moves[i] & 0xFF;
+            scratch.apply(code);
+            if (visitor != null) {
+                visitor.onAction(i, code, scratch);
+            }
+        }
+    }
+
+    /**
+     * Callback for replay(): called after each action has been applied.
+     */
+    public interface Visitor {
+        void onAction(int index, int code, QuoridorState state);
+    }
+
+    // ---------- Serialization ----------
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(numPlayers);
+        for (int i = 0; i < numPlayers; i++) {
+            out.writeByte(wallBudgets[i]);
+        }
+        out.writeShort(size);
+        out.write(moves, 0, size);
+    }
+
+    /**
+     * Read the rest of a record whose magic byte has already been consumed.
+     * Reuses this instance's buffers.
+     */
+    void readBody(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported Quoridor record version " + version);
+        }
+        int players = in.readUnsignedByte();
+        int[] budgets = wallBudgets.length == players ? wallBudgets : new int[players];
+        for (int i = 0; i < players; i++) {
+            budgets[i] = in.readUnsignedByte();
+        }
+        try {
+            setHeader(players, budgets);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt Quoridor record: " + e.getMessage());
+        }
+
+        int count = in.readUnsignedShort();
+        if (moves.length < count) {
+            moves = new byte[Math.max(count, moves.length * 2)];
+        }
+        in.readFully(moves, 0, count);
+        size = count;
+    }
+
+    public static QuoridorRecord readFrom(DataInput in) throws IOException {
+        int magic = in.readUnsignedByte();
+        if (magic != MAGIC) {
+            throw new IOException("Not a Quoridor record (bad magic " + magic + ")");
+        }
+        QuoridorRecord record = new QuoridorRecord();
+        record.readBody(in);
+        return record;
+    }
+}
@@ -0,0 +1,72 @@
+package a3;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader for an archive of appended QuoridorRecords.
+ *
+ * Only one game is held in memory at a time: next() refills the same
+ * record object, and replayAll() pushes every game through one reused
+ * QuoridorState, so scanning millions of games keeps memory flat.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-27
+ */
+public class QuoridorRecordReader implements Closeable {
+    private final DataInputStream in;
+    private final QuoridorRecord current = new QuoridorRecord();
+    private QuoridorState scratch;
+    private long gamesRead;
+
+    public QuoridorRecordReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+    }
+
+    /**
+     * Read the next game of the archive.
+     * The returned record is reused by the following call - copy what you need to keep.
+     * @return the record, or null at the end of the archive
+     */
+    public QuoridorRecord next() throws IOException {
+        int magic = in.read();
+        if (magic < 0) {
+            return null;
+        }
+        if (magic != QuoridorRecord.MAGIC) {
+            throw new IOException("Bad record header after " + gamesRead + " games");
+        }
+        current.readBody(in);
+        gamesRead++;
+        return current;
+    }
+
+    /**
+     * Replay every remaining game of the archive through a single reused state.
+     * @return number of games replayed
+     */
+    public long replayAll(QuoridorRecord.Visitor visitor) throws IOException {
+        long count = 0;
+        QuoridorRecord record;
+        while ((record = next()) != null) {
+            if (scratch == null) {
+                scratch = new QuoridorState(record.getNumPlayers(), new int[4]);
+            }
+            record.replay(scratch, visitor);
+            count++;
+        }
+        return count;
+    }
+
+    public long getGamesRead() {
+        return gamesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
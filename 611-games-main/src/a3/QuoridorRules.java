@@ -14,6 +14,10 @@ public class QuoridorRules {
     private final QuoridorBoard board;
     private final TextUI ui = new TextUI(); // for player interaction
 
+    // Search instrumentation. Plain counters: give each thread its own rules object.
+    private long wallPathChecks;   // BFS runs made to validate wall placements
+    private long distanceSearches; // BFS runs made by shortestPathLength
+
     public QuoridorRules(QuoridorBoard board) {
         this.board = board;
     }
@@ -139,9 +143,11 @@ public class QuoridorRules {
         QuoridorBoard tempBoard = board.copy();
         tempBoard.placeWall(wall);
 
-        for (int i = 0; i < getNumberOfPlayers(board); i++) {
-            Position pos = board.getPawnPosition(i);
-            if (pos != null && !hasPathToGoal(pos, i, getNumberOfPlayers(board), tempBoard)) {
+        // pawns are keyed by player number (1-4), goals by player index (0-3)
+        int numPlayers = getNumberOfPlayers(board);
+        for (int i = 0; i < numPlayers; i++) {
+            Position pos = board.getPawnPosition(i + 1);
+            if (pos != null && !hasPathToGoal(pos, i, numPlayers, tempBoard)) {
                 return false;
             }
         }
@@ -152,6 +158,7 @@ public class QuoridorRules {
      * BFS check if a player still has a valid path to goal.
      */
     private boolean hasPathToGoal(Position start, int playerIndex, int numPlayers, QuoridorBoard board) {
+        wallPathChecks++;
         Queue<Position> queue = new LinkedList<>();
         Set<Position> visited = new HashSet<>();
         queue.offer(start);
@@ -180,6 +187,77 @@ public class QuoridorRules {
         return false;
     }
 
+    /**
+     * BFS distance from start to the player's goal edge.
+     * @return number of steps (ignoring pawns), or -1 if the goal is unreachable
+     */
+    public int shortestPathLength(Position start, int playerIndex, int numPlayers, QuoridorBoard board) {
+        distanceSearches++;
+        int size = board.getSize();
+        int[] dist = new int[size * size];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[size * size];
+        int head = 0, tail = 0;
+        queue[tail++] = start.row * size + start.col;
+        dist[start.row * size + start.col] = 0;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            Position curr = new Position(cell / size, cell % size);
+            if (hasWon(curr, playerIndex, numPlayers)) return dist[cell];
+
+            Position[] neighbors = {
+                new Position(curr.row - 1, curr.col),
+                new Position(curr.row + 1, curr.col),
+                new Position(curr.row, curr.col - 1),
+                new Position(curr.row, curr.col + 1)
+            };
+            for (Position next : neighbors) {
+                if (!isWithinBounds(next)) continue;
+                int id = next.row * size + next.col;
+                if (dist[id] < 0 && !board.isWallBlocking(curr, next)) {
+                    dist[id] = dist[cell] + 1;
+                    queue[tail++] = id;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * All squares the pawn at 'from' may legally move to, including every
+     * diagonal jump option. Unlike validateMove this never asks the player
+     * to choose, so it is safe for the AI and for background threads.
+     */
+    public List<Position> getLegalDestinations(Position from, QuoridorBoard board) {
+        List<Position> result = new ArrayList<>();
+        int[][] directions = {{-1, 0}, {1, 0}, {0, 1}, {0, -1}};  // N, S, E, W
+
+        for (int[] d : directions) {
+            Position to = new Position(from.row + d[0], from.col + d[1]);
+            if (!isWithinBounds(to) || board.isWallBlocking(from, to)) continue;
+
+            if (!board.isOccupied(to.row, to.col)) {
+                result.add(to);
+                continue;
+            }
+
+            // Opponent in the way: straight jump if possible, otherwise the diagonals
+            Position straight = new Position(to.row + d[0], to.col + d[1]);
+            if (isWithinBounds(straight)
+                    && !board.isWallBlocking(to, straight)
+                    && !board.isOccupied(straight.row, straight.col)) {
+                result.add(straight);
+                continue;
+            }
+            Position sideA = d[0] != 0 ? new Position(to.row, to.col - 1) : new Position(to.row - 1, to.col);
+            Position sideB = d[0] != 0 ? new Position(to.row, to.col + 1) : new Position(to.row + 1, to.col);
+            if (isValidDiagonalOption(to, sideA, board) && !result.contains(sideA)) result.add(sideA);
+            if (isValidDiagonalOption(to, sideB, board) && !result.contains(sideB)) result.add(sideB);
+        }
+        return result;
+    }
+
     /**
      * Check if player has reached the goal.
      */
@@ -205,12 +283,26 @@ public class QuoridorRules {
 
     private int getNumberOfPlayers(QuoridorBoard board) {
         int count = 0;
-        for (int i = 0; i < 4; i++) {
+        for (int i = 1; i <= 4; i++) {
             if (board.getPawnPosition(i) != null) count++;
         }
         return count;
     }
 
+    /**
+     * @return number of path-to-goal BFS runs done for wall validation by this rules object
+     */
+    public long getWallPathChecks() {
+        return wallPathChecks;
+    }
+
+    /**
+     * @return number of shortestPathLength BFS runs done by this rules object
+     */
+    public long getDistanceSearches() {
+        return distanceSearches;
+    }
+
     public int getSize() {
         return board.getSize();
     }
@@ -0,0 +1,303 @@
+package a3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Iterative-deepening alpha-beta search on top of QuoridorAI's move
+ * generator and evaluation, with depth / node / time limits and a stop
+ * flag that can be raised from another thread. Used by the headless
+ * engine protocol (QuoridorEngine).
+ *
+ * Positions are keyed with Zobrist hashing (pawn squares, walls, walls left,
+ * side to move) into a small transposition table, which gives both cutoffs
+ * and a best action to try first. Counters for tuning are kept in a SearchStats.
+ *
+ * Use one instance per search: it is not shared between threads (except for
+ * stop()), and a stop() that arrives before search() has started is still honoured.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class QuoridorSearch {
+    public static final int MAX_DEPTH = 64;
+    private static final int CHECK_INTERVAL = 256;  // nodes between limit checks
+
+    // ---------- Zobrist keys ----------
+    private static final int SQUARES = 81;
+    private static final int WALL_SLOTS = 128;
+    private static final int MAX_WALLS = 20;
+    private static final long[][] PAWN_KEYS = new long[2][SQUARES];
+    private static final long[] WALL_KEYS = new long[WALL_SLOTS];
+    private static final long[][] WALLS_LEFT_KEYS = new long[2][MAX_WALLS + 1];
+    private static final long SIDE_KEY;
+
+    static {
+        Random random = new Random(611);  // fixed seed: keys are identical on every run
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < SQUARES; i++) PAWN_KEYS[p][i] = random.nextLong();
+            for (int i = 0; i <= MAX_WALLS; i++) WALLS_LEFT_KEYS[p][i] = random.nextLong();
+        }
+        for (int i = 0; i < WALL_SLOTS; i++) WALL_KEYS[i] = random.nextLong();
+        SIDE_KEY = random.nextLong();
+    }
+
+    // ---------- Transposition table ----------
+    // Entry data: score (16 bits) | depth (8) | bound (2) | best action code + 1 (9)
+    private static final int TT_BITS = 16;
+    private static final int TT_MASK = (1 << TT_BITS) - 1;
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+
+    private final long[] ttKeys = new long[1 << TT_BITS];
+    private final long[] ttData = new long[1 << TT_BITS];
+
+    private final QuoridorRules rules = new QuoridorRules(new QuoridorBoard());
+    private final QuoridorAI.Action[][] pvTable = new QuoridorAI.Action[MAX_DEPTH + 1][MAX_DEPTH + 1];
+    private final int[] pvLength = new int[MAX_DEPTH + 1];
+    private final SearchStats stats = new SearchStats();
+
+    private volatile boolean stopped;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;      // System.nanoTime() deadline, or Long.MAX_VALUE
+
+    // Best line of the last completed iteration
+    private List<QuoridorAI.Action> bestLine = new ArrayList<>();
+    private int bestScore;
+    private int completedDepth;
+
+    /**
+     * Receives one report per completed iteration.
+     */
+    public interface Listener {
+        void onIteration(int depth, int score, long nodes, long elapsedMs, List<QuoridorAI.Action> pv);
+    }
+
+    /**
+     * Search a 2-player position.
+     * @param maxDepth deepest iteration to run (capped at MAX_DEPTH)
+     * @param maxNodes node budget, or 0 for none
+     * @param maxTimeMs time budget, or 0 for none
+     * @return best action found, or null if the side to move has none
+     */
+    public QuoridorAI.Action search(QuoridorState state, int maxDepth, long maxNodes,
+                                    long maxTimeMs, Listener listener) {
+        if (state.getNumPlayers() != 2) {
+            throw new IllegalArgumentException("Search only supports 2-player games");
+        }
+        long start = System.nanoTime();
+        nodes = 0;
+        nodeLimit = maxNodes > 0 ? maxNodes : Long.MAX_VALUE;
+        deadline = maxTimeMs > 0 ? start + maxTimeMs * 1_000_000L : Long.MAX_VALUE;
+        bestLine = new ArrayList<>();
+        bestScore = 0;
+        completedDepth = 0;
+
+        int side = state.getSideToMove();
+        int[] walls = {state.getWallsRemaining(0), state.getWallsRemaining(1)};
+        int depthLimit = Math.min(Math.max(1, maxDepth), MAX_DEPTH);
+        long key = hash(state.getBoard(), walls, side);
+
+        long iterationStart = 0;
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            int score = negamax(state.getBoard(), walls, side, key, depth, 0,
+                    -QuoridorAI.WIN_SCORE - 1, QuoridorAI.WIN_SCORE + 1);
+            // An interrupted iteration is only trusted if nothing was completed before it
+            if (stopped && completedDepth > 0) break;
+            if (pvLength[0] == 0) break;  // no legal actions
+
+            bestLine = new ArrayList<>();
+            for (int i = 0; i < pvLength[0]; i++) {
+                bestLine.add(pvTable[0][i]);
+            }
+            bestScore = score;
+            completedDepth = depth;
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            stats.recordIteration(nodes - iterationStart, elapsedMs);
+            iterationStart = nodes;
+            if (listener != null) {
+                listener.onIteration(depth, score, nodes, elapsedMs, bestLine);
+            }
+            if (stopped || Math.abs(score) >= QuoridorAI.WIN_SCORE - MAX_DEPTH) break;
+        }
+        if (bestLine.isEmpty()) {
+            // Stopped before depth 1 finished: any legal action beats none
+            List<QuoridorAI.Action> actions =
+                    QuoridorAI.getAllValidActions(state.getBoard(), rules, side, walls[side]);
+            if (!actions.isEmpty()) bestLine.add(actions.get(0));
+        }
+
+        stats.nodes = nodes;
+        stats.wallPathChecks = rules.getWallPathChecks();
+        stats.distanceSearches = rules.getDistanceSearches();
+        stats.elapsedNanos = System.nanoTime() - start;
+        return bestLine.isEmpty() ? null : bestLine.get(0);
+    }
+
+    private int negamax(QuoridorBoard board, int[] walls, int side, long key, int depth, int ply,
+                        int alpha, int beta) {
+        pvLength[ply] = 0;
+        nodes++;
+        checkLimits();
+
+        int eval = QuoridorAI.evaluateBoard(board, rules, side);
+        if (Math.abs(eval) == QuoridorAI.WIN_SCORE) {
+            return eval > 0 ? eval - ply : eval + ply;  // prefer quicker wins, slower losses
+        }
+        if (depth == 0 || stopped) {
+            stats.leafEvals++;
+            return eval;
+        }
+
+        // Probe the table; the root is always searched so it keeps a full PV
+        int slot = (int) key & TT_MASK;
+        int ttCode = -1;
+        stats.ttProbes++;
+        if (ttKeys[slot] == key) {
+            stats.ttHits++;
+            long data = ttData[slot];
+            ttCode = (int) (data & 0x1FF) - 1;
+            if (ply > 0 && (int) (data >>> 11 & 0xFF) >= depth) {
+                int score = fromTable((short) (data >>> 19), ply);
+                int bound = (int) (data >>> 9 & 3);
+                if (bound == EXACT || (bound == LOWER && score >= beta) || (bound == UPPER && score <= alpha)) {
+                    stats.ttCutoffs++;
+                    return score;
+                }
+            }
+        }
+
+        List<QuoridorAI.Action> actions = QuoridorAI.getAllValidActions(board, rules, side, walls[side]);
+        if (ply == 0 && !bestLine.isEmpty()) {
+            promote(actions, toCode(bestLine.get(0)));  // previous iteration's best move first
+        } else if (ttCode >= 0) {
+            promote(actions, ttCode);
+        }
+
+        int originalAlpha = alpha;
+        int best = -QuoridorAI.WIN_SCORE - 1;
+        int bestCode = -1;
+        Position from = board.getPawnPosition(side + 1);
+        for (int i = 0; i < actions.size(); i++) {
+            QuoridorAI.Action action = actions.get(i);
+            QuoridorBoard child = board.copy();
+            QuoridorAI.applyAction(child, action, side);
+            int code = toCode(action);
+            long childKey = key ^ SIDE_KEY;
+            boolean wall = action.type == QuoridorAI.Action.Type.WALL;
+            if (wall) {
+                childKey ^= WALL_KEYS[code - WALL_SLOTS] ^ wallsLeftKey(side, walls[side])
+                        ^ wallsLeftKey(side, walls[side] - 1);
+                walls[side]--;
+            } else {
+                childKey ^= PAWN_KEYS[side][from.row * 9 + from.col] ^ PAWN_KEYS[side][code];
+            }
+            int score = -negamax(child, walls, 1 - side, childKey, depth - 1, ply + 1, -beta, -alpha);
+            if (wall) walls[side]++;
+
+            if (stopped) return best;
+            if (score > best) {
+                best = score;
+                bestCode = code;
+                pvTable[ply][0] = action;
+                System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+                pvLength[ply] = pvLength[ply + 1] + 1;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) {
+                stats.cutoffs++;
+                if (i == 0) stats.firstMoveCutoffs++;
+                break;
+            }
+        }
+        if (actions.isEmpty()) return eval;
+
+        int bound = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        ttKeys[slot] = key;
+        ttData[slot] = ((long) (toTable(best, ply) & 0xFFFF) << 19) | ((long) depth << 11)
+                | ((long) bound << 9) | (bestCode + 1);
+        return best;
+    }
+
+    // Win scores depend on the distance from the root; the table stores them relative to the node.
+    private static int toTable(int score, int ply) {
+        if (score >= QuoridorAI.WIN_SCORE - MAX_DEPTH) return score + ply;
+        if (score <= -QuoridorAI.WIN_SCORE + MAX_DEPTH) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= QuoridorAI.WIN_SCORE - MAX_DEPTH) return score - ply;
+        if (score <= -QuoridorAI.WIN_SCORE + MAX_DEPTH) return score + ply;
+        return score;
+    }
+
+    private static long hash(QuoridorBoard board, int[] walls, int side) {
+        long key = side == 1 ? SIDE_KEY : 0;
+        for (int p = 0; p < 2; p++) {
+            Position pos = board.getPawnPosition(p + 1);
+            key ^= PAWN_KEYS[p][pos.row * 9 + pos.col] ^ wallsLeftKey(p, walls[p]);
+        }
+        for (WallPiece wall : board.getWalls()) {
+            key ^= WALL_KEYS[QuoridorRecord.encodeWall(wall) - WALL_SLOTS];
+        }
+        return key;
+    }
+
+    private static long wallsLeftKey(int side, int walls) {
+        return WALLS_LEFT_KEYS[side][Math.min(walls, MAX_WALLS)];
+    }
+
+    private static int toCode(QuoridorAI.Action action) {
+        return action.type == QuoridorAI.Action.Type.WALL
+                ? QuoridorRecord.encodeWall(action.wall)
+                : QuoridorRecord.encodeMove(action.position);
+    }
+
+    private static void promote(List<QuoridorAI.Action> actions, int code) {
+        for (int i = 0; i < actions.size(); i++) {
+            if (toCode(actions.get(i)) == code) {
+                actions.add(0, actions.remove(i));
+                return;
+            }
+        }
+    }
+
+    private void checkLimits() {
+        if (nodes >= nodeLimit
+                || ((nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+    }
+
+    /**
+     * Ask a running search to finish as soon as possible (safe from any thread).
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    public List<QuoridorAI.Action> getBestLine() {
+        return new ArrayList<>(bestLine);
+    }
+
+    /**
+     * @return counters of the last search (valid once search() has returned)
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+}
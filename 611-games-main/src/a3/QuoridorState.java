@@ -0,0 +1,99 @@
+package a3;
+
+/**
+ * A replayable Quoridor position: the board, every player's remaining walls
+ * and the number of actions played so far (which also decides whose turn it is,
+ * because turns only rotate after a valid action).
+ *
+ * Actions are applied as the one-byte codes used by QuoridorRecord.
+ * No rule checking is done here - recorded games are trusted.
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-27
+ */
+public class QuoridorState {
+    private final QuoridorBoard board;
+    private final int[] wallsRemaining = new int[4];  // indexed by player index (0-3)
+    private int numPlayers;
+    private int ply;
+
+    /**
+     * Create the starting position of a game.
+     * @param numPlayers 2 or 4
+     * @param wallBudgets starting walls for each player index
+     */
+    public QuoridorState(int numPlayers, int[] wallBudgets) {
+        this.board = new QuoridorBoard();
+        reset(numPlayers, wallBudgets);
+    }
+
+    private QuoridorState(QuoridorBoard board) {
+        this.board = board;
+    }
+
+    /**
+     * Go back to the starting position, reusing the same board.
+     */
+    public void reset(int numPlayers, int[] wallBudgets) {
+        if (numPlayers != 2 && numPlayers != 4) {
+            throw new IllegalArgumentException("Quoridor needs 2 or 4 players, got " + numPlayers);
+        }
+        board.reset();
+        board.initializePawns(numPlayers);
+        this.numPlayers = numPlayers;
+        for (int i = 0; i < numPlayers; i++) {
+            wallsRemaining[i] = wallBudgets[i];
+        }
+        this.ply = 0;
+    }
+
+    /**
+     * Apply one recorded action for the player whose turn it is.
+     * @param code action code (see QuoridorRecord)
+     */
+    public void apply(int code) {
+        int playerNumber = getSideToMove() + 1;
+        if (QuoridorRecord.isWall(code)) {
+            board.placeWall(QuoridorRecord.decodeWall(code, playerNumber));
+            wallsRemaining[playerNumber - 1]--;
+        } else {
+            Position to = QuoridorRecord.decodeSquare(code);
+            board.movePawn(playerNumber, to.row, to.col);
+        }
+        ply++;
+    }
+
+    /**
+     * Deep copy, used for replay snapshots.
+     */
+    public QuoridorState copy() {
+        QuoridorState copy = new QuoridorState(board.copy());
+        copy.numPlayers = numPlayers;
+        System.arraycopy(wallsRemaining, 0, copy.wallsRemaining, 0, wallsRemaining.length);
+        copy.ply = ply;
+        return copy;
+    }
+
+    /**
+     * @return index (0-based) of the player to act next
+     */
+    public int getSideToMove() {
+        return ply % numPlayers;
+    }
+
+    public QuoridorBoard getBoard() {
+        return board;
+    }
+
+    public int getWallsRemaining(int playerIndex) {
+        return wallsRemaining[playerIndex];
+    }
+
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+}
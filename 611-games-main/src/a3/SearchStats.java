@@ -0,0 +1,187 @@
+package a3;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Counters collected by one QuoridorSearch, so tuning changes show up as numbers
+ * instead of "feels faster".
+ *
+ * Each search (and therefore each thread) owns its own SearchStats and bumps
+ * plain fields - no atomics or locks on the hot path. Results from several
+ * threads are combined afterwards with merge().
+ *
+ * Author: Zhuojun Lyu and Priyanshu Singh
+ * Date: 2025-10-28
+ */
+public class SearchStats {
+    long nodes;
+    long leafEvals;          // static evaluations used as a score at the horizon
+    long ttProbes;
+    long ttHits;             // probes that found an entry for the same position
+    long ttCutoffs;          // hits that ended the node without searching it
+    long cutoffs;            // beta cutoffs
+    long firstMoveCutoffs;   // beta cutoffs produced by the first action tried
+    long wallPathChecks;     // wall-legality BFS runs
+    long distanceSearches;   // shortest-path BFS runs (evaluation)
+    long elapsedNanos;
+
+    // Per completed iteration: nodes searched in that iteration and time it finished at
+    private long[] depthNodes = new long[8];
+    private long[] depthMillis = new long[8];
+    private int depths;
+
+    void recordIteration(long iterationNodes, long elapsedMs) {
+        if (depths == depthNodes.length) {
+            depthNodes = Arrays.copyOf(depthNodes, depths * 2);
+            depthMillis = Arrays.copyOf(depthMillis, depths * 2);
+        }
+        depthNodes[depths] = iterationNodes;
+        depthMillis[depths] = elapsedMs;
+        depths++;
+    }
+
+    /**
+     * Add another search's counters to this one (e.g. one per worker thread).
+     * Per-depth figures are summed depth by depth.
+     */
+    public void merge(SearchStats other) {
+        nodes += other.nodes;
+        leafEvals += other.leafEvals;
+        ttProbes += other.ttProbes;
+        ttHits += other.ttHits;
+        ttCutoffs += other.ttCutoffs;
+        cutoffs += other.cutoffs;
+        firstMoveCutoffs += other.firstMoveCutoffs;
+        wallPathChecks += other.wallPathChecks;
+        distanceSearches += other.distanceSearches;
+        elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+        for (int d = 0; d < other.depths; d++) {
+            if (d < depths) {
+                depthNodes[d] += other.depthNodes[d];
+                depthMillis[d] = Math.max(depthMillis[d], other.depthMillis[d]);
+            } else {
+                recordIteration(other.depthNodes[d], other.depthMillis[d]);
+            }
+        }
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getLeafEvals() {
+        return leafEvals;
+    }
+
+    public long getTtProbes() {
+        return ttProbes;
+    }
+
+    public long getTtHits() {
+        return ttHits;
+    }
+
+    public long getTtCutoffs() {
+        return ttCutoffs;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getWallPathChecks() {
+        return wallPathChecks;
+    }
+
+    public long getDistanceSearches() {
+        return distanceSearches;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? nodes * 1_000_000_000L / elapsedNanos : 0;
+    }
+
+    public double getTtHitRate() {
+        return ttProbes > 0 ? (double) ttHits / ttProbes : 0;
+    }
+
+    /**
+     * @return share of beta cutoffs found by the first action - a direct measure of move ordering
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs > 0 ? (double) firstMoveCutoffs / cutoffs : 0;
+    }
+
+    /**
+     * @return nodes of the last completed iteration divided by nodes of the one before it,
+     *         or 0 if fewer than two iterations completed
+     */
+    public double getEffectiveBranchingFactor() {
+        if (depths < 2 || depthNodes[depths - 2] == 0) return 0;
+        return (double) depthNodes[depths - 1] / depthNodes[depths - 2];
+    }
+
+    public int getCompletedDepths() {
+        return depths;
+    }
+
+    /**
+     * @param depth iteration depth, starting at 1
+     * @return elapsed milliseconds (since the search started) when that iteration completed
+     */
+    public long getTimeAtDepth(int depth) {
+        return depthMillis[depth - 1];
+    }
+
+    /**
+     * @param depth iteration depth, starting at 1
+     * @return nodes searched by that iteration alone
+     */
+    public long getNodesAtDepth(int depth) {
+        return depthNodes[depth - 1];
+    }
+
+    /**
+     * Single-line JSON object, for logs and regression scripts.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(384);
+        sb.append("{\"nodes\":").append(nodes)
+                .append(",\"leafEvals\":").append(leafEvals)
+                .append(",\"ttProbes\":").append(ttProbes)
+                .append(",\"ttHits\":").append(ttHits)
+                .append(",\"ttCutoffs\":").append(ttCutoffs)
+                .append(",\"cutoffs\":").append(cutoffs)
+                .append(",\"firstMoveCutoffs\":").append(firstMoveCutoffs)
+                .append(",\"firstMoveCutoffRate\":").append(format(getFirstMoveCutoffRate()))
+                .append(",\"ebf\":").append(format(getEffectiveBranchingFactor()))
+                .append(",\"wallPathChecks\":").append(wallPathChecks)
+                .append(",\"distanceSearches\":").append(distanceSearches)
+                .append(",\"timeMs\":").append(getElapsedMillis())
+                .append(",\"nps\":").append(getNodesPerSecond())
+                .append(",\"depths\":[");
+        for (int d = 0; d < depths; d++) {
+            if (d > 0) sb.append(',');
+            sb.append("{\"depth\":").append(d + 1)
+                    .append(",\"nodes\":").append(depthNodes[d])
+                    .append(",\"timeMs\":").append(depthMillis[d]).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nodes %d, %d nps, TT hits %d/%d, first-move cutoffs %.0f%%, EBF %.2f, wall BFS %d",
+                nodes, getNodesPerSecond(), ttHits, ttProbes, getFirstMoveCutoffRate() * 100,
+                getEffectiveBranchingFactor(), wallPathChecks);
+    }
+}